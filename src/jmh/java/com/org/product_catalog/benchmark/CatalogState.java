@@ -0,0 +1,70 @@
+package com.org.product_catalog.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.service.ProductService;
+
+/**
+ * A running application context (without the web server) over an in-memory H2 catalog of {@code catalogSize}
+ * seeded products. One instance per trial, so each parameter combination gets a fresh database.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    /** Whether {@code getById} goes through the product cache. */
+    @Param({"true", "false"})
+    public boolean cache;
+
+    /** Whether {@code getById} and {@code findByCategory} are served from the memory-resident replica. */
+    @Param({"false", "true"})
+    public boolean replica;
+
+    ConfigurableApplicationContext context;
+    ProductService service;
+    long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments, not default properties, so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + catalogSize + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--catalog.cache.enabled=" + cache,
+                        "--catalog.replica.enabled=" + replica);
+        service = context.getBean(ProductService.class);
+
+        List<Product> products = CatalogFixtures.products(catalogSize, CatalogFixtures.SEED);
+        ids = new long[catalogSize];
+        int next = 0;
+        for (int from = 0; from < products.size(); from += 5_000) {
+            List<Product> chunk = products.subList(from, Math.min(from + 5_000, products.size()));
+            for (BulkItemResult result : service.bulkCreate(chunk).getItems()) {
+                ids[next++] = result.getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
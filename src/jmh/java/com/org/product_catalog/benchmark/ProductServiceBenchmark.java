@@ -0,0 +1,84 @@
+package com.org.product_catalog.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFilter;
+
+/**
+ * Read paths of {@code ProductServiceImpl} against H2 at several catalog sizes. Throughput mode gives ops/ms;
+ * sample mode gives the latency distribution (p50 … p99.99) per call.
+ * <p>
+ * Narrow a run with JMH options, e.g. {@code -Djmh.args="ProductServiceBenchmark.getById -p catalogSize=10000"}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ProductServiceBenchmark {
+
+    /** Per-thread deterministic choice of ids, categories and queries. */
+    @State(Scope.Thread)
+    public static class Picker {
+        Random random;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new Random(CatalogFixtures.SEED);
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> getById(CatalogState catalog, Picker picker) {
+        return catalog.service.getById(catalog.ids[picker.random.nextInt(catalog.ids.length)]);
+    }
+
+    @Benchmark
+    public List<Product> search(CatalogState catalog, Picker picker) {
+        return catalog.service.search(CatalogFixtures.searchTerm(picker.random));
+    }
+
+    @Benchmark
+    public List<Product> findByCategory(CatalogState catalog, Picker picker) {
+        return catalog.service.findByCategory(
+                CatalogFixtures.category(picker.random.nextInt(CatalogFixtures.CATEGORY_COUNT)));
+    }
+
+    /** First page of one category within a price band, cheapest first; should not slow down as the catalog grows. */
+    @Benchmark
+    public PageResponse<Product> categoryPriceRange(CatalogState catalog, Picker picker) {
+        double from = picker.random.nextInt(900);
+        return catalog.service.findByCategory(CatalogFixtures.category(picker.random.nextInt(CatalogFixtures.CATEGORY_COUNT)),
+                0, 20, ProductFilter.parse(from, from + 100, "price"), Product.class);
+    }
+
+    /** First page of a price band across all categories, cheapest first. */
+    @Benchmark
+    public PageResponse<Product> priceRange(CatalogState catalog, Picker picker) {
+        double from = picker.random.nextInt(900);
+        return catalog.service.listPage(0, 20, ProductFilter.parse(from, from + 100, "price"), Product.class);
+    }
+
+    @Benchmark
+    public List<Product> listAll(CatalogState catalog) {
+        return catalog.service.listAll();
+    }
+}
@@ -0,0 +1,67 @@
+package com.org.product_catalog.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Instant;
+import java.util.List;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.replica.CatalogReplica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Heap held per product by the memory-resident {@link CatalogReplica} against the same products kept as
+ * {@link Product} entities, measured as the change in used heap after a full GC. Not a JMH benchmark; run with
+ * {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.main=com.org.product_catalog.benchmark.ReplicaFootprint
+ * -Djmh.args="100000"}.
+ */
+public final class ReplicaFootprint {
+
+    private ReplicaFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedAfterGc(memory);
+        List<Product> entities = products(size);
+        long entityBytes = usedAfterGc(memory) - before;
+
+        CatalogProperties properties = new CatalogProperties();
+        properties.getReplica().setEnabled(true);
+        CatalogReplica replica = new CatalogReplica(null, null, properties, new SimpleMeterRegistry());
+        before = usedAfterGc(memory);
+        products(size).forEach(replica::put);
+        long replicaBytes = usedAfterGc(memory) - before;
+
+        System.out.printf("products: %d%n", size);
+        System.out.printf("entities: %,d bytes (%.1f per product)%n", entityBytes, (double) entityBytes / size);
+        System.out.printf("replica:  %,d bytes (%.1f per product), %,d allocated to columns and arena%n",
+                replicaBytes, (double) replicaBytes / size, replica.footprintBytes());
+        // Keep both alive until after the last measurement
+        System.out.println(entities.size() + replica.size() > 0 ? "" : "empty");
+    }
+
+    private static List<Product> products(int size) {
+        List<Product> products = CatalogFixtures.products(size, CatalogFixtures.SEED);
+        Instant now = Instant.now();
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            p.setId(i + 1L);
+            p.setVersion(0L);
+            p.setUpdatedAt(now.plusNanos(i * 1000L));
+        }
+        return products;
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,113 @@
+package com.org.product_catalog.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.logging.RequestLogSampler;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.service.ProductService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Cost of logging on the request path, through the full MVC stack (filters, interceptors, controller, service)
+ * with INFO logging on. {@code before} writes every line and every SQL statement straight to the console;
+ * {@code after} runs the {@code prod} profile: SQL echo off, the asynchronous console appender and 1% request
+ * sampling. The forked JVM's console is piped to JMH, as it would be to a container's log driver.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RequestLoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"before", "after"})
+        public String logging;
+
+        ConfigurableApplicationContext context;
+        MockMvc mockMvc;
+        long[] ids;
+
+        @Setup(Level.Trial)
+        public void start() {
+            boolean after = logging.equals("after");
+            context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                    .run("--spring.datasource.url=jdbc:h2:mem:logging-bench-" + logging + ";DB_CLOSE_DELAY=-1",
+                            "--server.port=0",
+                            "--spring.profiles.active=" + (after ? "prod" : "sync-logging"),
+                            "--spring.jpa.show-sql=" + !after,
+                            // One benchmark client posting as fast as it can would otherwise be rate limited
+                            "--catalog.admission.enabled=false");
+            mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                    .addFilters(context.getBean(RequestLogSampler.class))
+                    .build();
+            List<BulkItemResult> created = context.getBean(ProductService.class)
+                    .bulkCreate(CatalogFixtures.products(1_000, CatalogFixtures.SEED)).getItems();
+            ids = created.stream().mapToLong(BulkItemResult::getId).toArray();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        Random random;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new Random(CatalogFixtures.SEED);
+        }
+    }
+
+    @Benchmark
+    public MvcResult getById(Application app, Picker picker) throws Exception {
+        return app.mockMvc.perform(get("/products/{id}", app.ids[picker.random.nextInt(app.ids.length)])).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult create(Application app, Picker picker) throws Exception {
+        int n = picker.random.nextInt(1_000_000);
+        return app.mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Bench " + n + "\",\"category\":\"" + CatalogFixtures.category(n % CatalogFixtures.CATEGORY_COUNT)
+                        + "\",\"price\":" + (n % 1000) + ".5,\"description\":\"" + "x".repeat(500) + "\"}"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult findByCategory(Application app, Picker picker) throws Exception {
+        return app.mockMvc.perform(get("/products/category/{category}",
+                CatalogFixtures.category(picker.random.nextInt(CatalogFixtures.CATEGORY_COUNT)))).andReturn();
+    }
+}
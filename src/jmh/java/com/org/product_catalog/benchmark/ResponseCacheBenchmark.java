@@ -0,0 +1,108 @@
+package com.org.product_catalog.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.cache.ResponseCacheFilter;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.service.ProductService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Repeated list reads between writes through the MVC stack, with and without {@link ResponseCacheFilter}, for
+ * a client that sends {@code Accept-Encoding: gzip}. Without the cache each call queries, serializes and, as
+ * Tomcat would, gzips the body; the MockMvc response stands in for the connector, so that last step is done here.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ResponseCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"false", "true"})
+        public boolean responseCache;
+
+        ConfigurableApplicationContext context;
+        MockMvc mockMvc;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                    .run("--spring.datasource.url=jdbc:h2:mem:response-bench-" + responseCache + ";DB_CLOSE_DELAY=-1",
+                            "--server.port=0",
+                            "--spring.profiles.active=prod",
+                            "--catalog.response-cache.enabled=" + responseCache);
+            mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                    .addFilters(context.getBean(ResponseCacheFilter.class))
+                    .build();
+            context.getBean(ProductService.class).bulkCreate(CatalogFixtures.products(10_000, CatalogFixtures.SEED));
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        Random random;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new Random(CatalogFixtures.SEED);
+        }
+    }
+
+    @Benchmark
+    public byte[] listAll(Application app) throws Exception {
+        return body(app, app.mockMvc.perform(get("/products").header("Accept-Encoding", "gzip")).andReturn());
+    }
+
+    @Benchmark
+    public byte[] findByCategory(Application app, Picker picker) throws Exception {
+        return body(app, app.mockMvc.perform(get("/products/category/{category}",
+                        CatalogFixtures.category(picker.random.nextInt(CatalogFixtures.CATEGORY_COUNT)))
+                .header("Accept-Encoding", "gzip")).andReturn());
+    }
+
+    private static byte[] body(Application app, MvcResult result) throws Exception {
+        byte[] body = result.getResponse().getContentAsByteArray();
+        if (app.responseCache) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package com.org.product_catalog.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.model.ApiResponseModel;
+
+/**
+ * Jackson serialization of the list response body, with an {@code ObjectMapper} configured the way Spring Boot
+ * configures the one used by the controllers.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "200", "1000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseModel<List<Product>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Product> products = CatalogFixtures.products(listSize, CatalogFixtures.SEED);
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId((long) i + 1);
+        }
+        response = ApiResponseModel.success("Products retrieved successfully", products);
+    }
+
+    @Benchmark
+    public byte[] serializeListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
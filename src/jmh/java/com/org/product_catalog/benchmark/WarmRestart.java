@@ -0,0 +1,68 @@
+package com.org.product_catalog.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.service.ProductService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Time until a restarted service answers from its indexes: in memory, which has to start empty and re-import
+ * the catalog, against the {@code persistent} profile reopening the same catalog from disk, with the indexes
+ * built one after another and in parallel. Not a JMH benchmark; run with
+ * {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.main=com.org.product_catalog.benchmark.WarmRestart
+ * -Djmh.args="100000"}.
+ */
+public final class WarmRestart {
+
+    private WarmRestart() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        // Started from a main thread, devtools would restart this method with the application's arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Path storage = Files.createTempDirectory("warm-restart").resolve("productdb");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=prod")) {
+            context.getBean(ProductService.class).bulkCreate(CatalogFixtures.products(size, CatalogFixtures.SEED));
+        }
+        System.out.printf("in memory, start and re-import %d products: %,d ms%n", size,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=prod,persistent",
+                "--catalog.storage.path=" + storage)) {
+            context.getBean(ProductService.class).bulkCreate(CatalogFixtures.products(size, CatalogFixtures.SEED));
+        }
+        for (int run = 0; run < 2; run++) {
+            for (boolean parallel : new boolean[] {false, true}) {
+                start = System.nanoTime();
+                try (ConfigurableApplicationContext context = start("--spring.profiles.active=prod,persistent",
+                        "--catalog.storage.path=" + storage, "--catalog.warmup.parallel=" + parallel)) {
+                    double startup = context.getBean(MeterRegistry.class).get("catalog.startup.time").timeGauge()
+                            .value(TimeUnit.MILLISECONDS);
+                    System.out.printf("persistent, warmup.parallel=%s: ready in %,d ms (catalog.startup.time %,.0f ms)%n",
+                            parallel, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), startup);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... args) {
+        String[] all = new String[args.length + 2];
+        System.arraycopy(args, 0, all, 0, args.length);
+        all[args.length] = "--catalog.replica.enabled=true";
+        all[args.length + 1] = "--catalog.bulk.max-items=" + Integer.MAX_VALUE;
+        return new SpringApplicationBuilder(ProductCatalogApplication.class).web(WebApplicationType.NONE).run(all);
+    }
+}
@@ -0,0 +1,156 @@
+package com.org.product_catalog.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+
+/**
+ * Seeds an in-memory catalog of each requested size, drives the HTTP API with a mixed read/write workload from
+ * many concurrent clients, and prints throughput and latency percentiles per size. Everything runs in one JVM
+ * against in-memory H2, so it needs no external services.
+ * <p>
+ * Given {@code --max-p99-ms}, {@code --min-throughput} or {@code --max-error-rate}, any run outside those bounds
+ * fails the process with exit code 1, so the run can gate a change. Admission control is off unless
+ * {@code --admission=true}: all clients share one address, and 429s would measure the limiter rather than the
+ * service.
+ * <pre>
+ * mvn -Ploadtest -DskipTests test-compile exec:exec \
+ *     -Dloadtest.main=com.org.product_catalog.loadtest.CatalogLoadTest \
+ *     -Dloadtest.args="--sizes=10000,100000,1000000 --clients=64 --seconds=30 --max-p99-ms=50"
+ * </pre>
+ */
+public final class CatalogLoadTest {
+
+    private CatalogLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        long seed = Long.parseLong(options.getOrDefault("seed", Long.toString(CatalogFixtures.SEED)));
+        boolean admission = Boolean.parseBoolean(options.getOrDefault("admission", "false"));
+        double maxP99Millis = Double.parseDouble(options.getOrDefault("max-p99-ms", "Infinity"));
+        double minThroughput = Double.parseDouble(options.getOrDefault("min-throughput", "0"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.001"));
+
+        // devtools is on the test classpath; its restarter would relaunch the app on a separate class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("Java %s, sizes %s, %d clients, %s per run (after %s warm-up), seed %d%n",
+                Runtime.version(), Arrays.toString(sizes), clients, duration, warmup, seed);
+        LoadDriver driver = new LoadDriver();
+        List<LoadResult> results = new ArrayList<>();
+        for (int size : sizes) {
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:catalog-load-" + size + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN",
+                            "--catalog.admission.enabled=" + admission)) {
+                long seeding = System.nanoTime();
+                CatalogSeeder.seed(app, size, seed);
+                System.out.printf("Seeded %d products in %d ms%n", size, (System.nanoTime() - seeding) / 1_000_000);
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                Function<Random, HttpRequest> mix = mixedWorkload("http://localhost:" + port, size);
+
+                driver.run(size + " warm-up", clients, warmup, mix);
+                results.add(driver.run(String.format(Locale.ROOT, "%,d products", size), clients, duration, mix));
+            }
+        }
+        System.out.println();
+        System.out.println(LoadResult.header());
+        results.forEach(result -> System.out.println(result.row()));
+
+        List<String> failures = new ArrayList<>();
+        for (LoadResult result : results) {
+            if (result.percentileMillis(0.99) > maxP99Millis) {
+                failures.add(String.format(Locale.ROOT, "%s: p99 %.2f ms > %.2f ms",
+                        result.label, result.percentileMillis(0.99), maxP99Millis));
+            }
+            if (result.throughput() < minThroughput) {
+                failures.add(String.format(Locale.ROOT, "%s: %.0f req/s < %.0f req/s",
+                        result.label, result.throughput(), minThroughput));
+            }
+            if (result.errorRate() > maxErrorRate) {
+                failures.add(String.format(Locale.ROOT, "%s: error rate %.4f > %.4f",
+                        result.label, result.errorRate(), maxErrorRate));
+            }
+        }
+        if (!failures.isEmpty()) {
+            System.out.println();
+            failures.forEach(failure -> System.out.println("FAILED " + failure));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 70% getById, 10% category listing, 10% search, 6% price PATCH, 4% create. Seeded products have ids
+     * {@code 1..size}, so reads and patches always hit an existing row.
+     */
+    private static Function<Random, HttpRequest> mixedWorkload(String baseUrl, int size) {
+        return random -> {
+            int roll = random.nextInt(100);
+            if (roll < 70) {
+                return get(baseUrl + "/products/" + (1 + random.nextInt(size)));
+            }
+            if (roll < 80) {
+                return get(baseUrl + "/products/category/"
+                        + CatalogFixtures.category(random.nextInt(CatalogFixtures.CATEGORY_COUNT)));
+            }
+            if (roll < 90) {
+                return get(baseUrl + "/products/search?query="
+                        + URLEncoder.encode(CatalogFixtures.searchTerm(random), StandardCharsets.UTF_8));
+            }
+            double price = Math.round(random.nextDouble() * 100_000) / 100.0;
+            if (roll < 96) {
+                return json(baseUrl + "/products/" + (1 + random.nextInt(size)), "PATCH",
+                        String.format(Locale.ROOT, "{\"price\":%.2f}", price));
+            }
+            return json(baseUrl + "/products", "POST", String.format(Locale.ROOT,
+                    "{\"name\":\"Load test product\",\"description\":\"Created under load\",\"price\":%.2f,"
+                            + "\"category\":\"%s\"}",
+                    price, CatalogFixtures.category(random.nextInt(CatalogFixtures.CATEGORY_COUNT))));
+        };
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest json(String url, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
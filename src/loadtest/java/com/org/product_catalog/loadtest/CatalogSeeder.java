@@ -0,0 +1,65 @@
+package com.org.product_catalog.loadtest;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Random;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.warmup.InProcessIndex;
+
+/**
+ * Fills the product table of a running application with {@link CatalogFixtures} products through plain JDBC
+ * batches, then rebuilds the in-process indexes from it. Going around the service skips per-row events and change
+ * log entries, which is what makes a million rows take seconds rather than minutes; rows get ids
+ * {@code 1..count} in generation order, so the same seed always yields the same row behind the same id.
+ */
+final class CatalogSeeder {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private CatalogSeeder() {
+    }
+
+    static void seed(ConfigurableApplicationContext app, int count, long seed) {
+        JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+        Random random = new Random(seed);
+        Product[] batch = new Product[BATCH_SIZE];
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, count - from);
+            for (int i = 0; i < size; i++) {
+                batch[i] = CatalogFixtures.product(from + i, random);
+            }
+            int firstId = from + 1;
+            jdbc.batchUpdate("insert into product (id, name, description, price, category, category_key, version, "
+                    + "updated_at) values (?, ?, ?, ?, ?, ?, 0, ?)", new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Product p = batch[i];
+                    ps.setLong(1, firstId + i);
+                    ps.setString(2, p.getName());
+                    ps.setString(3, p.getDescription());
+                    ps.setDouble(4, p.getPrice());
+                    ps.setString(5, p.getCategory());
+                    ps.setString(6, Product.normalizeCategory(p.getCategory()));
+                    ps.setTimestamp(7, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        // Hibernate hands out product_seq ids in blocks of 50 ending at the sequence value; start past the seed
+        jdbc.execute("alter sequence product_seq restart with " + (count + 101));
+        app.getBeansOfType(InProcessIndex.class).values().forEach(InProcessIndex::rebuild);
+    }
+}
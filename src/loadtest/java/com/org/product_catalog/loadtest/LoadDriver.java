@@ -0,0 +1,72 @@
+package com.org.product_catalog.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load generator: {@code clients} threads each send a request, wait for the response and
+ * immediately send the next, until the run duration has elapsed. Each thread has its own seeded {@link Random},
+ * so the request sequence is reproducible for a given client count.
+ */
+final class LoadDriver {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * @param nextRequest picks the next request for a client from that client's random source
+     */
+    LoadResult run(String label, int clients, Duration duration, Function<Random, HttpRequest> nextRequest)
+            throws InterruptedException {
+        List<LatencyRecorder> recorders = new ArrayList<>(clients);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int c = 0; c < clients; c++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            Random random = new Random(1_000L + c);
+            Thread client = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest.apply(random);
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 429) {
+                                shed.incrementAndGet();
+                            } else if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.record(System.nanoTime() - sent);
+                        requests.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            client.setDaemon(true);
+            client.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        return new LoadResult(label, requests.get(), errors.get(), shed.get(), elapsed,
+                LatencyRecorder.mergeSorted(recorders));
+    }
+}
@@ -0,0 +1,49 @@
+package com.org.product_catalog.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link LoadDriver} run: request counts and the latency distribution in nanoseconds. Errors are
+ * failed calls and 5xx answers; 429s from admission control are counted as shed instead.
+ */
+final class LoadResult {
+
+    final String label;
+    final long requests;
+    final long errors;
+    final long shed;
+    final long elapsedNanos;
+    final long[] sortedLatencies;
+
+    LoadResult(String label, long requests, long errors, long shed, long elapsedNanos, long[] sortedLatencies) {
+        this.label = label;
+        this.requests = requests;
+        this.errors = errors;
+        this.shed = shed;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = sortedLatencies;
+    }
+
+    double throughput() {
+        return requests * 1e9 / elapsedNanos;
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    double percentileMillis(double quantile) {
+        return LatencyRecorder.percentile(sortedLatencies, quantile) / 1e6;
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-28s %10s %8s %8s %10s %9s %9s %9s %9s",
+                "run", "requests", "errors", "shed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    String row() {
+        return String.format(Locale.ROOT, "%-28s %10d %8d %8d %10.0f %9.2f %9.2f %9.2f %9.2f",
+                label, requests, errors, shed, throughput(), percentileMillis(0.50), percentileMillis(0.99),
+                percentileMillis(0.999), percentileMillis(1.0));
+    }
+}
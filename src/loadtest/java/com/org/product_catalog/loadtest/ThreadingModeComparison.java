@@ -0,0 +1,122 @@
+package com.org.product_catalog.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.product_catalog.ProductCatalogApplication;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.fixtures.CatalogFixtures;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.service.ProductService;
+
+/**
+ * Runs the same closed-loop read mix against the application twice, once on Tomcat's platform-thread pool and
+ * once with {@code spring.threads.virtual.enabled=true}, and prints throughput and latency percentiles side by
+ * side. The Tomcat pool is deliberately kept smaller than the client count so the platform run saturates it.
+ * <p>
+ * Virtual threads need a Java 21+ runtime; on older JVMs both runs use platform threads and the report says so.
+ * <pre>
+ * mvn -Ploadtest -DskipTests test-compile exec:exec \
+ *     -Dloadtest.main=com.org.product_catalog.loadtest.ThreadingModeComparison \
+ *     -Dloadtest.args="--products=10000 --clients=400 --seconds=30 --tomcat-threads=50"
+ * </pre>
+ */
+public final class ThreadingModeComparison {
+
+    private ThreadingModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int products = Integer.parseInt(options.getOrDefault("products", "10000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        int tomcatThreads = Integer.parseInt(options.getOrDefault("tomcat-threads", "50"));
+
+        // devtools is on the test classpath; its restarter would relaunch the app on a separate class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("Java %s, %d products, %d clients, %s per run (after %s warm-up)%n",
+                Runtime.version(), products, clients, duration, warmup);
+        LoadDriver driver = new LoadDriver();
+        List<LoadResult> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN",
+                            // Every simulated client shares the loopback address, i.e. one search budget
+                            "--catalog.admission.enabled=false",
+                            "--server.tomcat.threads.max=" + tomcatThreads,
+                            "--spring.threads.virtual.enabled=" + virtual)) {
+                boolean active = Threading.VIRTUAL.isActive(app.getEnvironment());
+                if (virtual && !active) {
+                    System.out.println("WARNING: virtual threads unavailable on this JVM; 'virtual' run uses platform threads");
+                }
+                long[] ids = seed(app.getBean(ProductService.class), products);
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                Function<Random, HttpRequest> mix = readMix("http://localhost:" + port, ids);
+
+                driver.run(mode + " warm-up", clients, warmup, mix);
+                String label = active ? "virtual threads" : "platform (max " + tomcatThreads + ")";
+                results.add(driver.run(label, clients, duration, mix));
+            }
+        }
+        System.out.println();
+        System.out.println(LoadResult.header());
+        results.forEach(result -> System.out.println(result.row()));
+    }
+
+    private static long[] seed(ProductService service, int count) {
+        List<Product> products = CatalogFixtures.products(count, CatalogFixtures.SEED);
+        long[] ids = new long[count];
+        int next = 0;
+        for (int from = 0; from < products.size(); from += 5_000) {
+            for (BulkItemResult result : service.bulkCreate(products.subList(from, Math.min(from + 5_000, count))).getItems()) {
+                ids[next++] = result.getId();
+            }
+        }
+        return ids;
+    }
+
+    /** 80% getById, 10% category listing, 10% search. */
+    private static Function<Random, HttpRequest> readMix(String baseUrl, long[] ids) {
+        return random -> {
+            int roll = random.nextInt(100);
+            String path;
+            if (roll < 80) {
+                path = "/products/" + ids[random.nextInt(ids.length)];
+            } else if (roll < 90) {
+                path = "/products/category/" + CatalogFixtures.category(random.nextInt(CatalogFixtures.CATEGORY_COUNT));
+            } else {
+                path = "/products/search?query=" + URLEncoder.encode(CatalogFixtures.searchTerm(random), StandardCharsets.UTF_8);
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        };
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,121 @@
+package com.org.product_catalog.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.exception.AdmissionRejectedException;
+import com.org.product_catalog.metrics.EndpointMetricsService;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Decides up front whether a write or search request is served, so a single busy client cannot queue enough
+ * work to starve everyone else's reads. Each {@link EndpointClass} has its own budget: a token bucket per client
+ * ({@code rate-per-second}, {@code burst}) and a cap on calls in progress across all clients
+ * ({@code max-concurrent}). A request over either budget is rejected straight away with
+ * {@link AdmissionRejectedException} (429 with Retry-After) instead of waiting.
+ * <p>
+ * Buckets are dropped once a client has been idle long enough for its bucket to be full again, so forgetting them
+ * loses nothing, and at most {@code catalog.admission.max-clients} are kept. Admitted and shed calls are counted
+ * through {@link EndpointMetricsService}; each budget resolves its counters once, when it is created.
+ */
+@Component
+public class AdmissionControl {
+
+    public enum EndpointClass {
+        WRITE("write"), SEARCH("search");
+
+        private final String tag;
+
+        EndpointClass(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControl(CatalogProperties properties, EndpointMetricsService metricsService) {
+        CatalogProperties.Admission config = properties.getAdmission();
+        this.enabled = config.isEnabled();
+        budgets.put(EndpointClass.WRITE,
+                new Budget(EndpointClass.WRITE, config.getWrite(), config.getMaxClients(), metricsService));
+        budgets.put(EndpointClass.SEARCH,
+                new Budget(EndpointClass.SEARCH, config.getSearch(), config.getMaxClients(), metricsService));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits a call of {@code endpointClass} from {@code client} or throws {@link AdmissionRejectedException}.
+     * Every admitted call must be followed by {@link #release}.
+     */
+    public void admit(EndpointClass endpointClass, String client) {
+        Budget budget = budgets.get(endpointClass);
+        if (!budget.concurrency.tryAcquire()) {
+            budget.shedConcurrency.increment();
+            throw new AdmissionRejectedException("Too many " + endpointClass.tag() + " requests in progress", 1);
+        }
+        long wait = budget.bucket(client).tryAcquire(System.nanoTime());
+        if (wait > 0) {
+            budget.concurrency.release();
+            budget.shedRate.increment();
+            throw new AdmissionRejectedException("Rate limit exceeded for " + endpointClass.tag() + " requests",
+                    (wait + SECOND_NANOS - 1) / SECOND_NANOS);
+        }
+        budget.admitted.increment();
+    }
+
+    public void release(EndpointClass endpointClass) {
+        budgets.get(endpointClass).concurrency.release();
+    }
+
+    int inFlight(EndpointClass endpointClass) {
+        return budgets.get(endpointClass).concurrency.inFlight();
+    }
+
+    private static final class Budget {
+
+        private final CatalogProperties.Budget config;
+        private final ConcurrencyLimit concurrency;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter admitted;
+        private final Counter shedRate;
+        private final Counter shedConcurrency;
+
+        Budget(EndpointClass endpointClass, CatalogProperties.Budget config, long maxClients,
+                EndpointMetricsService metricsService) {
+            this.config = config;
+            this.admitted = metricsService.admittedCounter(endpointClass.tag());
+            this.shedRate = metricsService.shedCounter(endpointClass.tag(), "rate");
+            this.shedConcurrency = metricsService.shedCounter(endpointClass.tag(), "concurrency");
+            this.concurrency = new ConcurrencyLimit(config.getMaxConcurrent());
+            // An idle bucket refills completely within burst / rate; after that it is the same as a new one
+            Duration refill = Duration.ofNanos(Math.round(config.getBurst() * 1e9 / config.getRatePerSecond()));
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(refill.plusSeconds(1))
+                    .build();
+        }
+
+        TokenBucket bucket(String client) {
+            return buckets.get(client,
+                    key -> new TokenBucket(config.getRatePerSecond(), config.getBurst(), System.nanoTime()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.org.product_catalog.admission;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.org.product_catalog.config.CatalogProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs {@link AdmissionControl} before the controller for every {@code /products} write (POST, PUT, PATCH,
+ * DELETE) and for search. Handler methods are classified once when the context starts, so other requests cost a
+ * map lookup. A rejection is thrown before the handler runs and is answered by the global exception handler.
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".admitted";
+    private static final Set<RequestMethod> WRITE_METHODS =
+            Set.of(RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE);
+
+    private final AdmissionControl admission;
+    private final String clientHeader;
+    private volatile Map<Method, AdmissionControl.EndpointClass> classes = Map.of();
+
+    public AdmissionInterceptor(AdmissionControl admission, CatalogProperties properties) {
+        this.admission = admission;
+        this.clientHeader = properties.getAdmission().getClientHeader();
+    }
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        Map<Method, AdmissionControl.EndpointClass> resolved = new HashMap<>(classes);
+        for (RequestMappingHandlerMapping mapping :
+                event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            mapping.getHandlerMethods().forEach((info, handler) -> {
+                AdmissionControl.EndpointClass endpointClass = classify(info);
+                if (endpointClass != null) {
+                    resolved.putIfAbsent(handler.getMethod(), endpointClass);
+                }
+            });
+        }
+        classes = Map.copyOf(resolved);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!admission.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)
+                || request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+            return true;
+        }
+        AdmissionControl.EndpointClass endpointClass = classes.get(handlerMethod.getMethod());
+        if (endpointClass == null) {
+            return true;
+        }
+        admission.admit(endpointClass, clientOf(request));
+        request.setAttribute(ADMITTED_ATTRIBUTE, endpointClass);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) instanceof AdmissionControl.EndpointClass endpointClass) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            admission.release(endpointClass);
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    static AdmissionControl.EndpointClass classify(RequestMappingInfo info) {
+        Set<String> patterns = info.getPatternValues();
+        if (patterns.stream().noneMatch(pattern -> pattern.startsWith("/products"))) {
+            return null;
+        }
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        if (methods.stream().anyMatch(WRITE_METHODS::contains)) {
+            return AdmissionControl.EndpointClass.WRITE;
+        }
+        if (methods.contains(RequestMethod.GET) && patterns.contains("/products/search")) {
+            return AdmissionControl.EndpointClass.SEARCH;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.org.product_catalog.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Caps the calls in progress at once with a compare-and-set counter; callers that find it full are turned away. */
+final class ConcurrencyLimit {
+
+    private final int max;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ConcurrencyLimit(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max-concurrent must be at least 1");
+        }
+        this.max = max;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.org.product_catalog.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the generic cell rate algorithm): a request is admitted
+ * if the bucket would not run more than {@code burst} tokens ahead of the clock after taking one, and admitting it
+ * moves that time one refill interval forward with a compare-and-set. No lock, no refill thread, one word of state.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong arrival;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1e9 / ratePerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /** Takes a token and returns 0, or returns the nanoseconds until one is available without taking it. */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
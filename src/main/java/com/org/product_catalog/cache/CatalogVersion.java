@@ -0,0 +1,53 @@
+package com.org.product_catalog.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.event.ProductChangedEvent;
+
+/**
+ * Change counter for the catalog as a whole, bumped once every committed product change. It backs the ETag
+ * and Last-Modified of the collection endpoints, so a conditional GET can be answered with 304 without
+ * touching the database.
+ * <p>
+ * The tag combines the counter with the startup time, so tags handed out by an earlier run of the service
+ * never match after a restart. Callers must read the tag <em>before</em> querying: a change that commits in
+ * between then yields fresh data under an older tag, which only costs the client one extra full response,
+ * never a stale 304. For the same reason the counter moves only after every in-process view has applied the change
+ * (see {@link ProductChangedEvent#VERSION_ORDER}).
+ */
+@Component
+public class CatalogVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long lastModified = epoch;
+
+    /** Strong ETag for the current state of the catalog, e.g. {@code "1f3a2b-42"}. */
+    public String etag() {
+        return "\"" + Long.toHexString(epoch) + "-" + changes.get() + "\"";
+    }
+
+    /** Time of the last committed change, or startup time if nothing changed since. */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Moves to a new version without a product change, so no tag handed out so far matches any more; used once
+     * the in-process views have been built, since responses rendered before that may have been partial.
+     */
+    public void advance() {
+        lastModified = System.currentTimeMillis();
+        changes.incrementAndGet();
+    }
+
+    @Order(ProductChangedEvent.VERSION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        advance();
+    }
+}
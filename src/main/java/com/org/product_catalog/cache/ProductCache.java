@@ -0,0 +1,157 @@
+package com.org.product_catalog.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache of products by id. Entries expire after {@code catalog.cache.ttl}; lookups for
+ * ids that do not exist are cached as empty entries for the shorter {@code catalog.cache.miss-ttl}.
+ * <p>
+ * Writes refresh the cache once they have committed, so a read that follows a write always sees it.
+ * <p>
+ * Misses are loaded on the calling thread but outside any map lock: the first caller for a key installs an
+ * incomplete future and runs the database query, and concurrent callers for that key wait on the same future.
+ * Loading inside {@code Cache.get(key, loader)} would hold a {@code ConcurrentHashMap} bin monitor across the
+ * query, which pins a virtual thread to its carrier. A write that lands while a load is in flight replaces the
+ * future, so the load's older result is never stored. Hit, miss, eviction and size metrics are published under
+ * {@code cache.*} with {@code cache=products}.
+ */
+@Component
+public class ProductCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCache.class);
+
+    private final boolean enabled;
+    private final boolean cacheMisses;
+    private final AsyncCache<Long, Optional<Product>> cache;
+
+    public ProductCache(CatalogProperties properties, MeterRegistry registry) {
+        CatalogProperties.Cache config = properties.getCache();
+        this.enabled = config.isEnabled();
+        this.cacheMisses = config.isCacheMisses();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfter(new PresenceAwareExpiry(config.getTtl(), config.getMissTtl()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache, "products");
+        log.info("Product cache enabled={}, maxSize={}, ttl={}, missTtl={}",
+                enabled, config.getMaxSize(), config.getTtl(), cacheMisses ? config.getMissTtl() : "off");
+    }
+
+    /**
+     * Returns the cached lookup for {@code id}; on a miss {@code loader} runs once per key however many
+     * callers ask for it concurrently.
+     */
+    public Optional<Product> get(Long id, Function<Long, Optional<Product>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        CompletableFuture<Optional<Product>> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return await(cached);
+        }
+        CompletableFuture<Optional<Product>> pending = new CompletableFuture<>();
+        cached = cache.asMap().putIfAbsent(id, pending);
+        if (cached != null) {
+            return await(cached);
+        }
+        try {
+            Optional<Product> loaded = loader.apply(id);
+            pending.complete(loaded);
+            if (loaded.isEmpty() && !cacheMisses) {
+                cache.asMap().remove(id, pending);
+            }
+            return loaded;
+        } catch (RuntimeException e) {
+            // Waiters see the failure; the next caller retries the load
+            cache.asMap().remove(id, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Optional<Product> await(CompletableFuture<Optional<Product>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.getId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED -> cache.synchronous().put(event.getId(), Optional.of(event.getProduct()));
+            // A patch carries only the changed fields; the next read loads the whole row
+            case PATCHED -> cache.synchronous().invalidate(event.getId());
+            case DELETED -> {
+                if (cacheMisses) {
+                    cache.synchronous().put(event.getId(), Optional.empty());
+                } else {
+                    cache.synchronous().invalidate(event.getId());
+                }
+            }
+        }
+    }
+
+    private static final class PresenceAwareExpiry implements Expiry<Long, Optional<Product>> {
+
+        private final long hitNanos;
+        private final long missNanos;
+
+        PresenceAwareExpiry(Duration ttl, Duration missTtl) {
+            this.hitNanos = ttl.toNanos();
+            this.missNanos = missTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<Product> value, long currentTime) {
+            return value.isPresent() ? hitNanos : missNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<Product> value, long currentTime, long currentDuration) {
+            return value.isPresent() ? hitNanos : missNanos;
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<Product> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.org.product_catalog.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Finished response bodies of the list endpoints, as serialized JSON plus a gzip copy when the body is large
+ * enough to gain from it. Entries are keyed by the {@link CatalogVersion} tag read before the response was
+ * rendered together with the request path and query, so an entry can never be served once a change has
+ * committed after it was looked up. Each committed change also clears the cache to free the old entries
+ * right away.
+ * <p>
+ * The cache is bounded by {@code catalog.response-cache.max-size} bytes. Hit, miss, eviction and size metrics
+ * are published under {@code cache.*} with {@code cache=responses}.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final boolean enabled;
+    private final long compressMinSize;
+    private final Cache<Key, CachedResponse> cache;
+
+    public ResponseCache(CatalogProperties properties, MeterRegistry registry) {
+        CatalogProperties.ResponseCache config = properties.getResponseCache();
+        this.enabled = config.isEnabled();
+        this.compressMinSize = config.getCompressMinSize().toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((Key key, CachedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "responses");
+        log.info("Response cache enabled={}, maxSize={}, compressMinSize={}",
+                enabled, config.getMaxSize(), config.getCompressMinSize());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** The response rendered for {@code request} under catalog version {@code version}, or null. */
+    public CachedResponse get(String version, String request) {
+        return cache.getIfPresent(new Key(version, request));
+    }
+
+    /**
+     * Stores a rendered body under the catalog version it was read at and returns the entry, whose
+     * {@code etag} and {@code lastModified} are that version's.
+     */
+    public CachedResponse put(String version, long lastModified, String request, String contentType, byte[] body) {
+        byte[] gzipped = body.length >= compressMinSize ? gzip(body) : null;
+        CachedResponse response = new CachedResponse(contentType, version, lastModified, body,
+                gzipped != null && gzipped.length < body.length ? gzipped : null);
+        cache.put(new Key(version, request), response);
+        return response;
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(String version, String request) {
+    }
+
+    /**
+     * One cached response. The arrays are shared by every request that is served the entry and are never
+     * modified; {@code gzipBody} is null when compressing did not pay off.
+     */
+    public record CachedResponse(String contentType, String etag, long lastModified, byte[] body, byte[] gzipBody) {
+
+        int weight() {
+            return body.length + (gzipBody == null ? 0 : gzipBody.length);
+        }
+    }
+}
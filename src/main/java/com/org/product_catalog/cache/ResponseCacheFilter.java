@@ -0,0 +1,170 @@
+package com.org.product_catalog.cache;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.org.product_catalog.metrics.EndpointMetricsService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers {@code GET /products} and {@code GET /products/category/{category}} from {@link ResponseCache}, so
+ * repeated reads between writes skip the database, Jackson and compression. A miss runs the controller as
+ * usual, keeps the body it rendered and sends that; responses other than a plain 200 pass through untouched.
+ * <p>
+ * Clients that accept gzip get the compressed copy with {@code Content-Encoding: gzip}, which also keeps
+ * Tomcat from compressing it again. Either copy is handed to the container as one array with its length set,
+ * so it is written out without being copied into a response buffer or chunked. Conditional requests are
+ * answered with 304 against the version the entry was cached under. Hits never reach the MVC interceptors, so
+ * their success count and {@code endpoint.latency} are recorded here.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHED_PATHS = Pattern.compile("/products(/category/[^/]+)?");
+
+    private final ResponseCache responseCache;
+    private final CatalogVersion catalogVersion;
+    private final EndpointMetricsService.EndpointMeters listMeters;
+    private final EndpointMetricsService.EndpointMeters pageMeters;
+    private final EndpointMetricsService.EndpointMeters cursorMeters;
+    private final EndpointMetricsService.EndpointMeters categoryMeters;
+
+    public ResponseCacheFilter(ResponseCache responseCache, CatalogVersion catalogVersion,
+                               EndpointMetricsService metricsService) {
+        this.responseCache = responseCache;
+        this.catalogVersion = catalogVersion;
+        this.listMeters = metricsService.meters("GET /products");
+        this.pageMeters = metricsService.meters("GET /products?page");
+        this.cursorMeters = metricsService.meters("GET /products?cursor");
+        this.categoryMeters = metricsService.meters("GET /products/category/{category}");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCache.isEnabled() || !"GET".equals(request.getMethod())
+                || !CACHED_PATHS.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Read the version before rendering, like the controller: a change committing meanwhile only leaves an
+        // entry under a version nobody asks for any more
+        long start = System.nanoTime();
+        String version = catalogVersion.etag();
+        long lastModified = catalogVersion.lastModified();
+        String key = keyOf(request);
+
+        ResponseCache.CachedResponse cached = responseCache.get(version, key);
+        if (cached != null) {
+            // The MVC interceptor never sees a hit, so count and time it here
+            if (!new ServletWebRequest(request, response).checkNotModified(cached.etag(), cached.lastModified())) {
+                write(cached, acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)), response);
+            }
+            EndpointMetricsService.EndpointMeters meters = metersOf(request);
+            if (meters != null) {
+                meters.success().increment();
+                meters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, capture);
+        // A change that committed while rendering may have been read only partly; the version moves after every
+        // view has applied it, so a body is only kept while the version it was keyed by is still current
+        if (capture.getStatus() != HttpStatus.OK.value() || capture.getContentType() == null
+                || capture.containsHeader(HttpHeaders.CONTENT_ENCODING) || !version.equals(catalogVersion.etag())) {
+            capture.copyBodyToResponse();
+            return;
+        }
+        ResponseCache.CachedResponse stored = responseCache.put(version, lastModified, key,
+                capture.getContentType(), capture.getContentAsByteArray());
+        write(stored, acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)), response);
+    }
+
+    private static void write(ResponseCache.CachedResponse cached, boolean gzip, HttpServletResponse response)
+            throws IOException {
+        byte[] body = cached.body();
+        if (gzip && cached.gzipBody() != null) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(cached.contentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /** Whether an {@code Accept-Encoding} header admits gzip, i.e. names gzip or {@code *} without {@code q=0}. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    /** Path plus parameters in name order, so the same query written in a different order shares an entry. */
+    private static String keyOf(HttpServletRequest request) {
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (parameters.isEmpty()) {
+            return request.getRequestURI();
+        }
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+                        .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /** The meters of the endpoint the controller counts this request under. */
+    private EndpointMetricsService.EndpointMeters metersOf(HttpServletRequest request) {
+        if (request.getRequestURI().contains("/category/")) {
+            return categoryMeters;
+        }
+        if (request.getParameter("page") != null) {
+            return pageMeters;
+        }
+        return request.getParameter("cursor") != null ? cursorMeters : listMeters;
+    }
+}
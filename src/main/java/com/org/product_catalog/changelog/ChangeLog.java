@@ -0,0 +1,171 @@
+package com.org.product_catalog.changelog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.ChangeLogState;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.entity.ProductChange;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.exception.ChangesExpiredException;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.ChangeEntry;
+import com.org.product_catalog.repo.ChangeLogStateRepo;
+import com.org.product_catalog.repo.ProductChangeRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Sequenced log of product changes for incremental sync (outbox style). Every {@link ProductChangedEvent} is
+ * appended while the publishing transaction is still open, so an entry exists exactly when its change
+ * committed.
+ * <p>
+ * Sequence numbers are handed out in order but transactions commit in any order, so a reader could see entry
+ * 9 before entry 8 commits and skip 8 for good. Reads therefore stop below the oldest entry whose transaction
+ * is still running. Entries are compacted in the background: an entry is dropped once a later one for the same
+ * product exists, and delete entries expire after {@code catalog.changes.tombstone-retention}. Clients whose
+ * position predates an expired delete get {@link ChangesExpiredException}.
+ * <p>
+ * Sequence numbers are assigned in memory, so the lock that keeps assignment and in-flight registration atomic
+ * never waits on the database; the entry itself is written after the lock is released. Compaction may delete the
+ * newest entries, so it records how far it got and the expiry horizon in {@link ChangeLogState}, in the same
+ * transaction as its deletes. At startup numbering continues above both that mark and the highest entry left, and
+ * the horizon is restored, so a restart neither reuses a number a client has seen nor forgets an expired delete.
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    private final ProductChangeRepo repo;
+    private final ChangeLogStateRepo stateRepo;
+    private final EntityManager entityManager;
+    private final CatalogProperties.Changes config;
+    private final Counter compactedCounter;
+
+    /** Guards sequence assignment together with {@link #inFlight} registration, and {@link #watermark()}. */
+    private final ReentrantLock sequenceLock = new ReentrantLock();
+    /** Entries whose transaction has not completed yet. */
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    /** Highest sequence number handed out so far. */
+    private long lastAssigned;
+    /** Highest sequence number of an expired delete entry. */
+    private final AtomicLong horizon = new AtomicLong();
+
+    public ChangeLog(ProductChangeRepo repo, ChangeLogStateRepo stateRepo, EntityManager entityManager,
+                     CatalogProperties properties, MeterRegistry registry) {
+        this.repo = repo;
+        this.stateRepo = stateRepo;
+        this.entityManager = entityManager;
+        this.config = properties.getChanges();
+        ChangeLogState state = stateRepo.findById(ChangeLogState.ID).orElseGet(ChangeLogState::new);
+        Long max = repo.findMaxSeq();
+        this.lastAssigned = Math.max(max == null ? 0 : max, state.getHighWater());
+        this.horizon.set(state.getHorizon());
+        this.compactedCounter = Counter.builder("catalog.changes.compacted")
+                .description("Change log entries removed by compaction")
+                .register(registry);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductChanged(ProductChangedEvent event) {
+        long seq;
+        sequenceLock.lock();
+        try {
+            seq = ++lastAssigned;
+            inFlight.add(seq);
+        } finally {
+            sequenceLock.unlock();
+        }
+        // Registered before the write, so a failed insert still takes the entry out of flight on rollback
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(seq);
+            }
+        });
+        entityManager.persist(new ProductChange(seq, event.getId(), event.getType(), Instant.now()));
+    }
+
+    /**
+     * Highest sequence number below which every entry has either committed or rolled back, so reading up to it
+     * can never skip an entry that commits later.
+     */
+    long watermark() {
+        sequenceLock.lock();
+        try {
+            return inFlight.isEmpty() ? lastAssigned : inFlight.first() - 1;
+        } finally {
+            sequenceLock.unlock();
+        }
+    }
+
+    /** Up to {@code limit} entries after {@code since}, in sequence order, with each product's current state. */
+    public ChangeBatch read(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative: " + since);
+        }
+        int batchSize = limit == null ? config.getBatchSize() : limit;
+        if (batchSize < 1 || batchSize > config.getMaxBatchSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + config.getMaxBatchSize());
+        }
+        // since=0 is a full resync from the compacted log, which missing delete entries cannot invalidate
+        if (since > 0 && since < horizon.get()) {
+            throw new ChangesExpiredException("Changes after " + since + " have been compacted away; resync from since=0");
+        }
+        long upTo = watermark();
+        // One extra row tells whether another batch follows
+        List<Object[]> rows = repo.findBatch(since, upTo, Limit.of(batchSize + 1));
+        boolean hasMore = rows.size() > batchSize;
+        List<ChangeEntry> entries = new ArrayList<>(Math.min(rows.size(), batchSize));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), batchSize))) {
+            ProductChange change = (ProductChange) row[0];
+            entries.add(new ChangeEntry(change.getSeq(), change.getType(), change.getProductId(),
+                    change.getChangedAt(), (Product) row[1]));
+        }
+        long nextSince = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+        return new ChangeBatch(entries, nextSince, hasMore);
+    }
+
+    @Scheduled(initialDelayString = "${catalog.changes.compact-interval:PT1M}",
+            fixedDelayString = "${catalog.changes.compact-interval:PT1M}")
+    @Transactional
+    public void compact() {
+        long upTo = watermark();
+        int superseded = repo.deleteSuperseded(upTo);
+        int expired = 0;
+        Long lastExpired = repo.findLastSeqOfTypeBefore(ProductChangedEvent.Type.DELETED,
+                Instant.now().minus(config.getTombstoneRetention()), upTo);
+        if (lastExpired != null) {
+            horizon.accumulateAndGet(lastExpired, Math::max);
+            expired = repo.deleteOfTypeUpTo(ProductChangedEvent.Type.DELETED, lastExpired);
+        }
+        // Every entry deleted above is at or below upTo, so numbering after a restart must start past it
+        ChangeLogState state = stateRepo.findById(ChangeLogState.ID).orElseGet(ChangeLogState::new);
+        state.setHighWater(Math.max(state.getHighWater(), upTo));
+        state.setHorizon(Math.max(state.getHorizon(), horizon.get()));
+        stateRepo.save(state);
+        compactedCounter.increment(superseded + expired);
+        log.info("Change log compacted up to seq {}: {} superseded, {} expired deletes", upTo, superseded, expired);
+    }
+}
@@ -0,0 +1,65 @@
+package com.org.product_catalog.coalesce;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent identical database reads for {@code getById} and {@code findByCategory}: however many
+ * requests ask for the same product, or the same category in the same view, at the same moment, one query
+ * runs and all of them get its result. Category results are handed out unmodifiable since they are shared.
+ * <p>
+ * A caller must never be handed a result read before a write it could already see, so once a change commits,
+ * reads of that product, and of any category, start a fresh query instead of joining one already running.
+ */
+@Component
+public class ReadCoalescer {
+
+    private record CategoryKey(String categoryKey, Class<?> view) {
+    }
+
+    private final boolean enabled;
+    private final SingleFlight<Long, Optional<Product>> byId;
+    private final SingleFlight<CategoryKey, List<?>> byCategory;
+
+    public ReadCoalescer(CatalogProperties properties, MeterRegistry registry) {
+        this.enabled = properties.getCoalescing().isEnabled();
+        this.byId = new SingleFlight<>("getById", registry);
+        this.byCategory = new SingleFlight<>("findByCategory", registry);
+    }
+
+    public Optional<Product> getById(Long id, Function<Long, Optional<Product>> loader) {
+        return enabled ? byId.run(id, () -> loader.apply(id)) : loader.apply(id);
+    }
+
+    /** {@code categoryKey} is the normalized category, so differently cased requests share a query. */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findByCategory(String categoryKey, Class<T> view, Supplier<List<T>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (List<T>) byCategory.run(new CategoryKey(categoryKey, view),
+                () -> Collections.unmodifiableList(loader.get()));
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getId() != null) {
+            byId.forget(event.getId());
+        }
+        byCategory.forgetAll();
+    }
+}
@@ -0,0 +1,87 @@
+package com.org.product_catalog.coalesce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shares one execution of a call among everyone who asks for the same key while it runs. The first caller
+ * installs an incomplete future with {@code putIfAbsent} and runs the call on its own thread; callers arriving
+ * meanwhile wait on that future, and the entry is removed as soon as the call returns, so nothing is cached.
+ * No lock is held while the call runs, which keeps virtual threads unpinned.
+ * <p>
+ * Calls are counted in {@code catalog.coalescing.calls}, tagged with the operation and {@code outcome=executed}
+ * or {@code outcome=coalesced}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String operation, MeterRegistry registry) {
+        this.executed = counter(operation, "executed", registry);
+        this.coalesced = counter(operation, "coalesced", registry);
+    }
+
+    private static Counter counter(String operation, String outcome, MeterRegistry registry) {
+        return Counter.builder("catalog.coalescing.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .description("Reads that ran their query, or shared the result of an identical one in flight")
+                .register(registry);
+    }
+
+    /** Runs {@code call}, or waits for the run already in flight for {@code key} and returns its result. */
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        executed.increment();
+        try {
+            V result = call.get();
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Lets later callers for {@code key} start a run of their own instead of joining the one in flight, e.g.
+     * because a write committed after it started. Callers already waiting still get its result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** {@link #forget} for every key. */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
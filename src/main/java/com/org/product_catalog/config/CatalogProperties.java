@@ -0,0 +1,238 @@
+package com.org.product_catalog.config;
+
+import java.time.Duration;
+
+import org.springframework.util.unit.DataSize;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Tunables for the catalog service, bound from the {@code catalog.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    private final Listing listing = new Listing();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Cache cache = new Cache();
+
+    private final Changes changes = new Changes();
+
+    private final Replica replica = new Replica();
+
+    private final Logging logging = new Logging();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Warmup warmup = new Warmup();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final Pool pool = new Pool();
+
+    private final Admission admission = new Admission();
+
+    private final Suggest suggest = new Suggest();
+
+    private final Facets facets = new Facets();
+
+    @Getter
+    @Setter
+    public static class Listing {
+
+        /** Page size used when the client does not send one. */
+        private int defaultPageSize = 20;
+
+        /** Largest page a single request may ask for. */
+        private int maxPageSize = 200;
+
+        /** Hard cap on rows returned by the unpaged {@code GET /products}. */
+        private int maxUnpagedSize = 1000;
+
+        /** Best-ranked search matches that a price range or sort order is applied to. */
+        private int maxSearchMatches = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+
+        /** Rows written per transaction; each batch is flushed and cleared before the next one starts. */
+        private int batchSize = 500;
+
+        /** Largest number of items accepted in one bulk request. */
+        private int maxItems = 50_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /** Whether {@code getById} goes through the in-process product cache. */
+        private boolean enabled = true;
+
+        /** Most products held at once; least-recently/frequently used entries are evicted beyond this. */
+        private long maxSize = 10_000;
+
+        /** How long a cached product stays valid. */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /** Whether lookups for ids that do not exist are cached too. */
+        private boolean cacheMisses = true;
+
+        /** How long a cached miss stays valid. */
+        private Duration missTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+
+        /** Entries returned by {@code GET /products/changes} when the client does not send a limit. */
+        private int batchSize = 500;
+
+        /** Largest batch a single request may ask for. */
+        private int maxBatchSize = 5000;
+
+        /**
+         * How long delete entries are kept. Clients that fall further behind than this get 410 Gone and must
+         * resync from {@code since=0}.
+         */
+        private Duration tombstoneRetention = Duration.ofDays(7);
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * Whether the whole catalog is also held in memory in a columnar layout, so {@code getById} and category
+         * listings skip the database. Costs heap in proportion to the catalog; see {@code catalog.replica.bytes}.
+         */
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Logging {
+
+        /** Share of requests (0 to 1) whose INFO and DEBUG lines are logged; WARN and ERROR are always logged. */
+        private double requestSampleRate = 1.0;
+
+        /** Log events the asynchronous console appender buffers before it starts dropping them. */
+        private int asyncQueueSize = 8192;
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+
+        /** Whether {@code GET /products} and category listings are answered from cached response bytes. */
+        private boolean enabled = true;
+
+        /** Most bytes held across all cached responses, counting both the plain and the gzip copy. */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /** Responses smaller than this are not worth a gzip copy and are always sent as they are. */
+        private DataSize compressMinSize = DataSize.ofKilobytes(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        /** Whether the in-process indexes are built concurrently at startup rather than one after another. */
+        private boolean parallel = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+
+        /** Whether concurrent identical {@code getById} and {@code findByCategory} queries share one execution. */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * 95th-percentile wait for a database connection over the recent window above which the
+         * {@code connectionPool} health indicator reports {@code DEGRADED}.
+         */
+        private Duration maxAcquireTime = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /** Whether write and search requests are rate limited per client and capped in concurrency. */
+        private boolean enabled = true;
+
+        /**
+         * Request header that identifies the client, set by the gateway in front of the service; requests without
+         * it are keyed by remote address.
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /** Most clients whose rate budgets are tracked at once; the least recently seen are dropped beyond this. */
+        private long maxClients = 10_000;
+
+        /** Budget for creates, updates, patches, deletes and bulk calls. */
+        private final Budget write = new Budget(50, 100, 32);
+
+        /** Budget for {@code GET /products/search}. */
+        private final Budget search = new Budget(100, 200, 64);
+    }
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        /** Requests per second each client may sustain. */
+        private double ratePerSecond;
+
+        /** Requests a client may send at once above the sustained rate. */
+        private int burst;
+
+        /** Requests of this class in progress at once across all clients. */
+        private int maxConcurrent;
+
+        public Budget(double ratePerSecond, int burst, int maxConcurrent) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Suggest {
+
+        /** Suggestions kept per prefix, and the most a single {@code GET /products/suggest} may ask for. */
+        private int maxResults = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Facets {
+
+        /** How often the in-memory category facets are compared with a {@code GROUP BY} over the table. */
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+
+        /**
+         * Pause before a disagreement is checked a second time; writes that committed during the first check
+         * have normally reached the facets by then, so only drift that is still there triggers a rebuild.
+         */
+        private Duration recheckDelay = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.org.product_catalog.config;
+
+import com.org.product_catalog.admission.AdmissionInterceptor;
+import com.org.product_catalog.metrics.EndpointMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+    private final EndpointMetricsInterceptor metricsInterceptor;
+
+    public WebConfig(AdmissionInterceptor admissionInterceptor, EndpointMetricsInterceptor metricsInterceptor) {
+        this.admissionInterceptor = admissionInterceptor;
+        this.metricsInterceptor = metricsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Shed requests are turned away before the latency timer starts; they show up in endpoint.shed.count
+        registry.addInterceptor(admissionInterceptor);
+        registry.addInterceptor(metricsInterceptor);
+    }
+}
@@ -1,16 +1,35 @@
 package com.org.product_catalog.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.org.product_catalog.cache.CatalogVersion;
 import com.org.product_catalog.entity.Product;
 import com.org.product_catalog.metrics.EndpointMetricsService;
 import com.org.product_catalog.model.ApiResponseModel;
+import com.org.product_catalog.model.BulkResponse;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.CursorPage;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFields;
+import com.org.product_catalog.model.ProductFilter;
+import com.org.product_catalog.model.ProductSuggestion;
 import com.org.product_catalog.service.ProductService;
 
 @RestController
@@ -19,18 +38,59 @@ public class ProductController {
 
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
+    /** Products written between explicit flushes of the export stream. */
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final ProductService service;
     private final EndpointMetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
 
-    public ProductController(ProductService service, EndpointMetricsService metricsService) {
+    public ProductController(ProductService service, EndpointMetricsService metricsService, ObjectMapper objectMapper,
+                             CatalogVersion catalogVersion) {
         this.metricsService = metricsService;
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Answers a conditional GET on a collection from the catalog change counter alone. Returns true when the
+     * client's copy is current and a 304 has been set up; otherwise the ETag and Last-Modified headers are
+     * added to the response and the caller goes on to query.
+     */
+    private boolean notModified(WebRequest request, String endpoint) {
+        if (request.checkNotModified(catalogVersion.etag(), catalogVersion.lastModified())) {
+            metricsService.incrementSuccess(endpoint);
+            log.debug("{} not modified", endpoint);
+            return true;
+        }
+        return false;
     }
 
+    /** The capped id-ordered list; with a price range or sort it returns the first page instead. */
     @GetMapping
-    public ResponseEntity<ApiResponseModel<List<Product>>> all() {
+    public ResponseEntity<ApiResponseModel<?>> all(@RequestParam(name = "fields", required = false) String fields,
+                                                   @RequestParam(name = "size", required = false) Integer size,
+                                                   @RequestParam(name = "minPrice", required = false) Double minPrice,
+                                                   @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+                                                   @RequestParam(name = "sort", required = false) String sort,
+                                                   @RequestParam(name = "total", required = false) Boolean total,
+                                                   WebRequest request) {
+        if (notModified(request, "GET /products")) {
+            return null;
+        }
         try {
-            List<Product> products = service.listAll();
+            ProductFields selection = ProductFields.parse(fields);
+            ProductFilter filter = ProductFilter.parse(minPrice, maxPrice, sort, total);
+            if (filter != null) {
+                PageResponse<?> result = listPage(0, size, selection, filter);
+                metricsService.incrementSuccess("GET /products");
+                log.info("Fetched filtered product page count={}", result.getItems().size());
+                return ResponseEntity.ok(ApiResponseModel.success("Products retrieved successfully", result));
+            }
+            List<?> products = selection == null
+                    ? service.listAll() : selection.select(service.listAll(selection.view()));
             metricsService.incrementSuccess("GET /products");
             log.info("Fetched all products: count={}", products.size());
             return ResponseEntity.ok(ApiResponseModel.success("Products retrieved successfully", products));
@@ -41,6 +101,106 @@ public class ProductController {
         }
     }
 
+    @GetMapping(params = "page")
+    public ResponseEntity<ApiResponseModel<PageResponse<?>>> page(@RequestParam("page") int page,
+                                                                @RequestParam(name = "size", required = false) Integer size,
+                                                                @RequestParam(name = "fields", required = false) String fields,
+                                                                @RequestParam(name = "minPrice", required = false) Double minPrice,
+                                                                @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+                                                                @RequestParam(name = "sort", required = false) String sort,
+                                                                @RequestParam(name = "total", required = false) Boolean total,
+                                                                WebRequest request) {
+        if (notModified(request, "GET /products?page")) {
+            return null;
+        }
+        try {
+            PageResponse<?> result = listPage(page, size, ProductFields.parse(fields), ProductFilter.parse(minPrice, maxPrice, sort, total));
+            metricsService.incrementSuccess("GET /products?page");
+            log.info("Fetched product page={} count={}", page, result.getItems().size());
+            return ResponseEntity.ok(ApiResponseModel.success("Products retrieved successfully", result));
+        } catch (Exception e) {
+            metricsService.incrementFailure("GET /products?page");
+            log.error("Error fetching product page={}", page, e);
+            throw e;
+        }
+    }
+
+    private PageResponse<?> listPage(int page, Integer size, ProductFields selection, ProductFilter filter) {
+        if (filter == null) {
+            if (selection == null) {
+                return service.listPage(page, size);
+            }
+            PageResponse<?> rows = service.listPage(page, size, selection.view());
+            return rows.withItems(selection.select(rows.getItems()));
+        }
+        if (selection == null) {
+            return service.listPage(page, size, filter, Product.class);
+        }
+        PageResponse<?> rows = service.listPage(page, size, filter, selection.view());
+        return rows.withItems(selection.select(rows.getItems()));
+    }
+
+    @GetMapping(params = {"cursor", "!page"})
+    public ResponseEntity<ApiResponseModel<CursorPage<?>>> cursor(@RequestParam("cursor") String cursor,
+                                                                 @RequestParam(name = "size", required = false) Integer size,
+                                                                 @RequestParam(name = "fields", required = false) String fields,
+                                                                 WebRequest request) {
+        if (notModified(request, "GET /products?cursor")) {
+            return null;
+        }
+        try {
+            ProductFields selection = ProductFields.parse(fields);
+            CursorPage<?> result;
+            if (selection == null) {
+                result = service.listAfter(cursor, size);
+            } else {
+                CursorPage<?> rows = service.listAfter(cursor, size, selection.view());
+                result = rows.withItems(selection.select(rows.getItems()));
+            }
+            metricsService.incrementSuccess("GET /products?cursor");
+            log.info("Fetched product cursor page count={}", result.getItems().size());
+            return ResponseEntity.ok(ApiResponseModel.success("Products retrieved successfully", result));
+        } catch (Exception e) {
+            metricsService.incrementFailure("GET /products?cursor");
+            log.error("Error fetching products for cursor='{}'", cursor, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the whole catalog as newline-delimited JSON, one product per line. Rows are written while the
+     * table is being scrolled, so the first bytes leave before the last row is read.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are terminated explicitly; suppress Jackson's default space between root values
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                long count = service.exportAll(product -> {
+                    try {
+                        generator.writeObject(product);
+                        generator.writeRaw('\n');
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                metricsService.incrementSuccess("GET /products/export");
+                log.info("Exported {} products", count);
+            } catch (RuntimeException | IOException e) {
+                metricsService.incrementFailure("GET /products/export");
+                log.error("Error exporting products", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseModel<Product>> getById(@PathVariable("id") Long id) {
         try {
@@ -48,7 +208,9 @@ public class ProductController {
                     .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
             metricsService.incrementSuccess("GET /products/{id}");
             log.info("Fetched product with id={}", id);
-            return ResponseEntity.ok(ApiResponseModel.success("Product retrieved successfully", product));
+            // Spring answers If-None-Match / If-Modified-Since against these headers with a bodiless 304
+            return withValidators(ResponseEntity.ok(), product)
+                    .body(ApiResponseModel.success("Product retrieved successfully", product));
         } catch (Exception e) {
             metricsService.incrementFailure("GET /products/{id}");
             log.error("Error fetching product id={}", id, e);
@@ -72,13 +234,16 @@ public class ProductController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponseModel<Product>> update(@PathVariable("id") Long id, @RequestBody Product product) {
+    public ResponseEntity<ApiResponseModel<Product>> update(@PathVariable("id") Long id, @RequestBody Product product,
+                                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            return service.update(id, product)
+            Long expectedVersion = parseVersion(ifMatch);
+            return (expectedVersion == null ? service.update(id, product) : service.update(id, product, expectedVersion))
                     .map(updated -> {
                         metricsService.incrementSuccess("PUT /products/{id}");
                         log.info("Updated product with id={}", id);
-                        return ResponseEntity.ok(ApiResponseModel.success("Product updated successfully", updated));
+                        return withValidators(ResponseEntity.ok(), updated)
+                                .body(ApiResponseModel.success("Product updated successfully", updated));
                     })
                     .orElseGet(() -> {
                         metricsService.incrementFailure("PUT /products/{id}");
@@ -93,6 +258,60 @@ public class ProductController {
         }
     }
 
+    /**
+     * Changes only the fields present in the body, in a single UPDATE. The product is not read back, so the
+     * response carries no data; with {@code If-Match} the new version is returned as the ETag.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponseModel<Void>> patch(@PathVariable("id") Long id, @RequestBody Product changes,
+                                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = parseVersion(ifMatch);
+            if (!service.patch(id, changes, expectedVersion)) {
+                metricsService.incrementFailure("PATCH /products/{id}");
+                log.warn("Product not found for patch: id={}", id);
+                return ResponseEntity.status(404).body(ApiResponseModel.error("Product not found"));
+            }
+            metricsService.incrementSuccess("PATCH /products/{id}");
+            log.info("Patched product with id={}", id);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (expectedVersion != null) {
+                response.eTag("\"" + (expectedVersion + 1) + "\"");
+            }
+            return response.body(ApiResponseModel.success("Product updated successfully", null));
+        } catch (Exception e) {
+            metricsService.incrementFailure("PATCH /products/{id}");
+            log.error("Error patching product id={}", id, e);
+            throw e;
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Product product) {
+        if (product.getVersion() != null) {
+            builder.eTag("\"" + product.getVersion() + "\"");
+        }
+        if (product.getUpdatedAt() != null) {
+            builder.lastModified(product.getUpdatedAt());
+        }
+        return builder;
+    }
+
+    /** Version named by an {@code If-Match} header; null when absent or {@code *} (any current version). */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+        }
+        throw new IllegalArgumentException("If-Match must be a single strong ETag of this product: " + ifMatch);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseModel<Void>> delete(@PathVariable("id") Long id) {
         try {
@@ -107,10 +326,59 @@ public class ProductController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponseModel<BulkResponse>> bulkCreate(@RequestBody List<Product> products) {
+        return bulk("POST /products/bulk", () -> service.bulkCreate(products), "Bulk create completed");
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<ApiResponseModel<BulkResponse>> bulkUpdate(@RequestBody List<Product> products) {
+        return bulk("PUT /products/bulk", () -> service.bulkUpdate(products), "Bulk update completed");
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponseModel<BulkResponse>> bulkDelete(@RequestBody List<Long> ids) {
+        return bulk("POST /products/bulk/delete", () -> service.bulkDelete(ids), "Bulk delete completed");
+    }
+
+    private ResponseEntity<ApiResponseModel<BulkResponse>> bulk(String endpoint, Supplier<BulkResponse> call, String message) {
+        try {
+            BulkResponse result = call.get();
+            metricsService.incrementSuccess(endpoint);
+            metricsService.recordBulk(endpoint, result.getSucceeded(), result.getFailed(), result.getDurationMs());
+            log.info("{} processed {} items: succeeded={}, failed={}",
+                    endpoint, result.getTotal(), result.getSucceeded(), result.getFailed());
+            return ResponseEntity.ok(ApiResponseModel.success(message, result));
+        } catch (Exception e) {
+            metricsService.incrementFailure(endpoint);
+            log.error("Error in {}", endpoint, e);
+            throw e;
+        }
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ApiResponseModel<List<Product>>> search(@RequestParam(name = "query") String q) {
+    public ResponseEntity<ApiResponseModel<List<?>>> search(@RequestParam(name = "query") String q,
+                                                           @RequestParam(name = "page", defaultValue = "0") int page,
+                                                           @RequestParam(name = "size", required = false) Integer size,
+                                                           @RequestParam(name = "fields", required = false) String fields,
+                                                           @RequestParam(name = "minPrice", required = false) Double minPrice,
+                                                           @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+                                                           @RequestParam(name = "sort", required = false) String sort,
+                                                           WebRequest request) {
+        if (notModified(request, "GET /products/search")) {
+            return null;
+        }
         try {
-            List<Product> products = service.search(q);
+            ProductFields selection = ProductFields.parse(fields);
+            ProductFilter filter = ProductFilter.parse(minPrice, maxPrice, sort);
+            List<?> products;
+            if (filter == null) {
+                products = selection == null
+                        ? service.search(q, page, size) : selection.select(service.search(q, page, size, selection.view()));
+            } else {
+                products = selection == null ? service.search(q, page, size, filter, Product.class)
+                        : selection.select(service.search(q, page, size, filter, selection.view()));
+            }
             metricsService.incrementSuccess("GET /products/search");
             log.info("Search for query='{}' returned {} products", q, products.size());
             return ResponseEntity.ok(ApiResponseModel.success("Search completed", products));
@@ -121,10 +389,39 @@ public class ProductController {
         }
     }
 
+    /** Every product in the category; with {@code page}, a price range or a sort, one page of them. */
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponseModel<List<Product>>> byCategory(@PathVariable("category") String category) {
+    public ResponseEntity<ApiResponseModel<?>> byCategory(@PathVariable("category") String category,
+                                                          @RequestParam(name = "fields", required = false) String fields,
+                                                          @RequestParam(name = "page", required = false) Integer page,
+                                                          @RequestParam(name = "size", required = false) Integer size,
+                                                          @RequestParam(name = "minPrice", required = false) Double minPrice,
+                                                          @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+                                                          @RequestParam(name = "sort", required = false) String sort,
+                                                          @RequestParam(name = "total", required = false) Boolean total,
+                                                          WebRequest request) {
+        if (notModified(request, "GET /products/category/{category}")) {
+            return null;
+        }
         try {
-            List<Product> products = service.findByCategory(category);
+            ProductFields selection = ProductFields.parse(fields);
+            ProductFilter filter = ProductFilter.parse(minPrice, maxPrice, sort, total);
+            if (filter != null || page != null) {
+                ProductFilter applied = filter == null ? ProductFilter.NONE : filter;
+                int pageIndex = page == null ? 0 : page;
+                PageResponse<?> result;
+                if (selection == null) {
+                    result = service.findByCategory(category, pageIndex, size, applied, Product.class);
+                } else {
+                    PageResponse<?> rows = service.findByCategory(category, pageIndex, size, applied, selection.view());
+                    result = rows.withItems(selection.select(rows.getItems()));
+                }
+                metricsService.incrementSuccess("GET /products/category/{category}");
+                log.info("Fetched page {} of category='{}': count={}", pageIndex, category, result.getItems().size());
+                return ResponseEntity.ok(ApiResponseModel.success("Products retrieved by category", result));
+            }
+            List<?> products = selection == null
+                    ? service.findByCategory(category) : selection.select(service.findByCategory(category, selection.view()));
             metricsService.incrementSuccess("GET /products/category/{category}");
             log.info("Fetched {} products for category='{}'", products.size(), category);
             return ResponseEntity.ok(ApiResponseModel.success("Products retrieved by category", products));
@@ -135,6 +432,62 @@ public class ProductController {
         }
     }
 
+    /**
+     * Incremental sync: the products changed after {@code since}, one batch per call. Clients repeat with the
+     * returned {@code nextSince} while {@code hasMore} is true.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponseModel<ChangeBatch>> changes(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                                 @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            ChangeBatch batch = service.changesSince(since, limit);
+            metricsService.incrementSuccess("GET /products/changes");
+            log.info("Fetched {} changes since seq={}", batch.getChanges().size(), since);
+            return ResponseEntity.ok(ApiResponseModel.success("Changes retrieved", batch));
+        } catch (Exception e) {
+            metricsService.incrementFailure("GET /products/changes");
+            log.error("Error fetching changes since seq={}", since, e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponseModel<List<CategorySummary>>> categories(WebRequest request) {
+        if (notModified(request, "GET /products/categories")) {
+            return null;
+        }
+        try {
+            List<CategorySummary> summaries = service.categorySummaries();
+            metricsService.incrementSuccess("GET /products/categories");
+            log.info("Fetched {} category summaries", summaries.size());
+            return ResponseEntity.ok(ApiResponseModel.success("Category summaries retrieved", summaries));
+        } catch (Exception e) {
+            metricsService.incrementFailure("GET /products/categories");
+            log.error("Error fetching category summaries", e);
+            throw e;
+        }
+    }
+
+    /** Search-box completions: the most popular product names and categories with a word starting with {@code prefix}. */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponseModel<List<ProductSuggestion>>> suggest(@RequestParam(name = "prefix") String prefix,
+                                                                             @RequestParam(name = "limit", required = false) Integer limit,
+                                                                             WebRequest request) {
+        if (notModified(request, "GET /products/suggest")) {
+            return null;
+        }
+        try {
+            List<ProductSuggestion> suggestions = service.suggest(prefix, limit);
+            metricsService.incrementSuccess("GET /products/suggest");
+            log.debug("Suggest for prefix='{}' returned {} suggestions", prefix, suggestions.size());
+            return ResponseEntity.ok(ApiResponseModel.success("Suggestions retrieved", suggestions));
+        } catch (Exception e) {
+            metricsService.incrementFailure("GET /products/suggest");
+            log.error("Error suggesting for prefix='{}'", prefix, e);
+            throw e;
+        }
+    }
+
     @GetMapping("/cicd")
     public ResponseEntity<ApiResponseModel<String>> checkforCICD(){
         return ResponseEntity.ok(ApiResponseModel.success("","Your Service has been deployed..."));
@@ -0,0 +1,37 @@
+package com.org.product_catalog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * The single row of change log bookkeeping that compaction must not lose: the highest sequence number it has
+ * compacted up to, and the horizon below which clients have to resync. Written by {@code ChangeLog.compact()} in
+ * the same transaction as its deletes, and read back at startup.
+ */
+@Entity
+@Table(name = "change_log_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ChangeLogState {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    /** Highest sequence number compaction has covered; entries up to it may be gone from {@code product_change}. */
+    @Column(nullable = false)
+    private long highWater;
+
+    /** Highest sequence number of an expired delete entry. */
+    @Column(nullable = false)
+    private long horizon;
+}
@@ -1,10 +1,23 @@
 package com.org.product_catalog.entity;
 
+import java.time.Instant;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +25,11 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+// (category_key, price) serves category lookups on its own as well as price ranges and price order within one
+@Table(indexes = {
+        @Index(name = "idx_product_category_key_price", columnList = "category_key, price"),
+        @Index(name = "idx_product_price", columnList = "price")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +37,9 @@ import lombok.ToString;
 @ToString
 public class Product {
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts; ids are handed out 50 at a time
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -31,5 +51,28 @@ public class Product {
 
     private String category;
 
-   
+    /** Lower-cased {@link #category}, stored so case-insensitive category lookups can use an index. */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "category_key")
+    private String categoryKey;
+
+    /** Bumped by every update; doubles as the product's ETag and guards {@code If-Match} updates. */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void fillDerivedColumns() {
+        this.categoryKey = normalizeCategory(category);
+        this.updatedAt = Instant.now();
+    }
+
+    public static String normalizeCategory(String category) {
+        return category == null ? null : category.toLowerCase(Locale.ROOT);
+    }
 }
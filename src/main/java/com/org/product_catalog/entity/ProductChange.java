@@ -0,0 +1,45 @@
+package com.org.product_catalog.entity;
+
+import java.time.Instant;
+
+import com.org.product_catalog.event.ProductChangedEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One entry of the catalog change log, written in the same transaction as the product change it records.
+ * {@code seq} orders entries and is assigned by {@code ChangeLog}; only the latest entry per product is kept once
+ * compaction has run.
+ */
+@Entity
+@Table(name = "product_change", indexes = @Index(name = "idx_product_change_product", columnList = "product_id, seq"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ProductChange {
+    @Id
+    private Long seq;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductChangedEvent.Type type;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
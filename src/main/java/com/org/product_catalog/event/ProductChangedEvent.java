@@ -0,0 +1,57 @@
+package com.org.product_catalog.event;
+
+import org.springframework.core.Ordered;
+
+import com.org.product_catalog.entity.Product;
+
+/**
+ * Published by the service after a product is created, updated or deleted. Listeners that keep in-process
+ * copies of catalog data use it to stay in step with the database; {@code product} is {@code null} for deletes.
+ * <p>
+ * {@code PATCHED} changes are written without reading the row, so their {@code product} carries only the fields
+ * that changed; every {@code null} field kept its stored value.
+ * <p>
+ * After-commit listeners run in {@code @Order}: the in-process views ({@link #VIEW_ORDER}) apply a change before
+ * {@code CatalogVersion} ({@link #VERSION_ORDER}) hands out a new collection ETag, so a response tagged with the
+ * new version is always rendered from views that already include the change.
+ */
+public class ProductChangedEvent {
+
+    /** Listener order of the caches, indexes, facets and replica that answer reads. */
+    public static final int VIEW_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+    /** Listener order of the catalog version bump, after every view. */
+    public static final int VERSION_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    public enum Type { CREATED, UPDATED, PATCHED, DELETED }
+
+    private final Type type;
+    private final Long id;
+    private final Product product;
+
+    private ProductChangedEvent(Type type, Long id, Product product) {
+        this.type = type;
+        this.id = id;
+        this.product = product;
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(Type.CREATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent updated(Product product) {
+        return new ProductChangedEvent(Type.UPDATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent patched(Long id, Product changes) {
+        return new ProductChangedEvent(Type.PATCHED, id, changes);
+    }
+
+    public static ProductChangedEvent deleted(Long id) {
+        return new ProductChangedEvent(Type.DELETED, id, null);
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getId() { return id; }
+    public Product getProduct() { return product; }
+}
@@ -0,0 +1,19 @@
+package com.org.product_catalog.exception;
+
+/**
+ * A request was turned away because its client or endpoint class has no budget left; the client should retry
+ * after {@link #getRetryAfterSeconds()}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.org.product_catalog.exception;
+
+/**
+ * The change log no longer holds every entry after the requested position, so the client has to resync.
+ */
+public class ChangesExpiredException extends RuntimeException {
+
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+}
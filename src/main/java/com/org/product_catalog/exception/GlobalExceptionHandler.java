@@ -4,11 +4,16 @@ package com.org.product_catalog.exception;
 
 import java.util.stream.Collectors;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
 import com.org.product_catalog.metrics.EndpointMetricsService;
 import com.org.product_catalog.model.ApiResponseModel;
 
@@ -35,9 +40,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ApiResponseModel.failure(ex.getMessage()));
     }
 
+    // If-Match did not match, or another write won the race: the client must re-read and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseModel<String>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponseModel.failure("Product was modified concurrently: " + ex.getMessage()));
+    }
+
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<ApiResponseModel<String>> handleChangesExpired(ChangesExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE).body(ApiResponseModel.failure(ex.getMessage()));
+    }
+
+    // Over the client's rate or the endpoint class's concurrency budget: answer now rather than queue the request
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiResponseModel<String>> handleAdmissionRejected(AdmissionRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ApiResponseModel.failure(ex.getMessage()));
+    }
+
+    // Still building an in-process view at startup: better no answer than a partial one
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<ApiResponseModel<String>> handleIndexNotReady(IndexNotReadyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ApiResponseModel.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ApiResponseModel<String>> handleException(Exception ex) {
-        metricsService.incrementFailure(ex.getMessage());
+    public ResponseEntity<ApiResponseModel<String>> handleException(Exception ex, HttpServletRequest request) {
+        // Tag by route template, never by message: messages carry ids and would register a meter per value
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metricsService.incrementException(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"), ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponseModel.error("An error occurred: " + ex.getMessage()));
     }
@@ -0,0 +1,19 @@
+package com.org.product_catalog.exception;
+
+/**
+ * The in-process view that answers a request has not finished its startup build, so it would answer with a
+ * partial result; the client should retry after {@link #getRetryAfterSeconds()}.
+ */
+public class IndexNotReadyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IndexNotReadyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,256 @@
+package com.org.product_catalog.facet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.repo.ProductScanner;
+import com.org.product_catalog.warmup.InProcessIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-category product count and price range, held in memory and updated incrementally from
+ * {@link ProductChangedEvent}s so {@link #summaries()} never touches the database.
+ * <p>
+ * Each category keeps its prices in a sorted multiset, which lets min and max survive the removal of the
+ * current extreme without a rescan. A scheduled job compares the aggregate with a {@code GROUP BY} over the
+ * table. Writes that committed while the query ran may not have been applied yet, so a disagreement is checked
+ * again after {@code catalog.facets.recheck-delay}. The aggregate is rebuilt only if the same categories still
+ * disagree; that confirmed drift is counted in {@code catalog.facets.drift}.
+ */
+@Component
+public class CategoryFacets implements InProcessIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryFacets.class);
+
+    private static final Comparator<CategorySummary> BY_CATEGORY =
+            Comparator.comparing(CategorySummary::getCategory, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    /** What the aggregate last recorded for a product, so its contribution can be taken back out. */
+    private record Member(String key, Double price) {
+    }
+
+    private static final class Bucket {
+        final String displayName;
+        long count;
+        final TreeMap<Double, Integer> prices = new TreeMap<>();
+
+        Bucket(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Member> members = new HashMap<>();
+    /** keyed by {@link Product#normalizeCategory(String)}; a {@code null} key holds uncategorised products */
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private volatile boolean ready;
+
+    private final ProductRepo repo;
+    private final ProductScanner scanner;
+    private final Duration recheckDelay;
+    private final Counter driftCounter;
+
+    public CategoryFacets(ProductRepo repo, ProductScanner scanner, CatalogProperties properties,
+                          MeterRegistry registry) {
+        this.repo = repo;
+        this.scanner = scanner;
+        this.recheckDelay = properties.getFacets().getRecheckDelay();
+        this.driftCounter = Counter.builder("catalog.facets.drift")
+                .description("Times the in-memory category facets disagreed with the database and were rebuilt")
+                .register(registry);
+    }
+
+    /** Whether the startup build has finished; until then the aggregate holds only what changed since launch. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** One summary per category, ordered by category name. */
+    public List<CategorySummary> summaries() {
+        List<CategorySummary> result;
+        lock.readLock().lock();
+        try {
+            result = new ArrayList<>(buckets.size());
+            for (Bucket bucket : buckets.values()) {
+                result.add(new CategorySummary(bucket.displayName, bucket.count,
+                        bucket.prices.isEmpty() ? null : bucket.prices.firstKey(),
+                        bucket.prices.isEmpty() ? null : bucket.prices.lastKey()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(BY_CATEGORY);
+        return result;
+    }
+
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            take(product.getId());
+            add(product.getId(), product.getCategory(), product.getPrice());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a partial change: {@code null} fields of {@code changes} keep what was recorded for the product.
+     * Unknown ids are left to the next reconcile.
+     */
+    public void patch(Long id, Product changes) {
+        lock.writeLock().lock();
+        try {
+            Member member = members.get(id);
+            if (member == null) {
+                return;
+            }
+            String category = changes.getCategory() != null
+                    ? changes.getCategory() : buckets.get(member.key()).displayName;
+            Double price = changes.getPrice() != null ? changes.getPrice() : member.price();
+            take(id);
+            add(id, category, price);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Long id, String category, Double price) {
+        String key = Product.normalizeCategory(category);
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(category));
+        bucket.count++;
+        if (price != null) {
+            bucket.prices.merge(price, 1, Integer::sum);
+        }
+        members.put(id, new Member(key, price));
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            take(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void take(Long id) {
+        Member member = members.remove(id);
+        if (member == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(member.key());
+        if (member.price() != null) {
+            bucket.prices.computeIfPresent(member.price(), (price, n) -> n == 1 ? null : n - 1);
+        }
+        if (--bucket.count == 0) {
+            buckets.remove(member.key());
+        }
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> put(event.getProduct());
+            case PATCHED -> patch(event.getId(), event.getProduct());
+            case DELETED -> remove(event.getId());
+        }
+    }
+
+    @Override
+    public String indexName() {
+        return "facets";
+    }
+
+    /**
+     * Replaces the aggregate with one computed from a full scan. Writers are held off for the duration so no
+     * event can be lost between the scan and the swap; this only runs at startup and after detected drift.
+     */
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            members.clear();
+            buckets.clear();
+            long scanned = scanner.forEach(this::put);
+            ready = true;
+            log.info("Category facets built: {} products, {} categories in {} ms",
+                    scanned, buckets.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.facets.reconcile-interval:PT5M}",
+            fixedDelayString = "${catalog.facets.reconcile-interval:PT5M}")
+    public void reconcile() {
+        List<ProductRepo.CategoryStats> actual = repo.categoryStats();
+        Set<String> drifted = drifted(actual);
+        if (drifted.isEmpty()) {
+            log.debug("Category facets match the database ({} categories)", actual.size());
+            return;
+        }
+        // A rebuild holds off every writer for a full scan, so let in-flight commits land and look again first
+        try {
+            Thread.sleep(recheckDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        drifted.retainAll(drifted(repo.categoryStats()));
+        if (drifted.isEmpty()) {
+            log.debug("Category facets caught up with the database on the second check");
+            return;
+        }
+        log.warn("Category facets drifted from the database in {} categories; rebuilding", drifted.size());
+        driftCounter.increment();
+        rebuild();
+    }
+
+    /** Keys of the categories whose count or price range differs between the aggregate and {@code actual}. */
+    private Set<String> drifted(List<ProductRepo.CategoryStats> actual) {
+        Set<String> drifted = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            Set<String> unseen = new HashSet<>(buckets.keySet());
+            for (ProductRepo.CategoryStats stats : actual) {
+                unseen.remove(stats.getCategoryKey());
+                Bucket bucket = buckets.get(stats.getCategoryKey());
+                if (bucket == null || bucket.count != stats.getCount()
+                        || !Objects.equals(bucket.prices.isEmpty() ? null : bucket.prices.firstKey(), stats.getMinPrice())
+                        || !Objects.equals(bucket.prices.isEmpty() ? null : bucket.prices.lastKey(), stats.getMaxPrice())) {
+                    drifted.add(stats.getCategoryKey());
+                }
+            }
+            drifted.addAll(unseen);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return drifted;
+    }
+}
@@ -0,0 +1,45 @@
+package com.org.product_catalog.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.org.product_catalog.config.CatalogProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides once per request whether its INFO and DEBUG lines are logged, keeping
+ * {@code catalog.logging.request-sample-rate} of requests. The decision goes into the MDC under {@link #MDC_KEY}
+ * for {@link SampledRequestTurboFilter}, so a request is logged either completely or not at all, and WARN and
+ * ERROR lines are always kept.
+ */
+@Component
+public class RequestLogSampler extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "sampled";
+
+    private final double sampleRate;
+
+    public RequestLogSampler(CatalogProperties properties) {
+        this.sampleRate = properties.getLogging().getRequestSampleRate();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(MDC_KEY, sampled ? "true" : "false");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.org.product_catalog.logging;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Drops INFO and lower from the application's loggers while serving a request that {@link RequestLogSampler}
+ * left out of the sample. Runs before Logback builds the event, so skipped lines cost neither formatting (and
+ * the {@code toString()} of their arguments) nor a slot in the async queue. Outside requests, e.g. at startup
+ * or in scheduled jobs, there is no decision in the MDC and every line passes.
+ * <p>
+ * Registered in {@code logback-spring.xml}.
+ */
+public class SampledRequestTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.org.product_catalog";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(RequestLogSampler.MDC_KEY)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
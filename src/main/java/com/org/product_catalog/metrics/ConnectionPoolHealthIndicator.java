@@ -0,0 +1,79 @@
+package com.org.product_catalog.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Reports the {@code connectionPool} health component: active, idle and total connections, threads waiting for
+ * one, and the time they wait. Status is {@link #DEGRADED} while the 95th-percentile wait recorded in
+ * {@code hikaricp.connections.acquire} exceeds {@code catalog.pool.max-acquire-time}; that timer's percentiles
+ * and max cover a window of the last couple of minutes, so the status recovers on its own once the pool keeps up.
+ * Without published percentiles the longest wait in the window is used instead.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    /** Up, but requests are queueing for database connections. */
+    public static final Status DEGRADED = new Status("DEGRADED", "Requests are waiting for database connections");
+
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final DataSource dataSource;
+    private final MeterRegistry registry;
+    private final double maxAcquireMillis;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource, MeterRegistry registry, CatalogProperties properties) {
+        this.dataSource = dataSource;
+        this.registry = registry;
+        this.maxAcquireMillis = properties.getPool().getMaxAcquireTime().toNanos() / 1e6;
+    }
+
+    @Override
+    public Health health() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return Health.unknown().withDetail("reason", "not a Hikari pool").build();
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "pool not started").build();
+        }
+        double waitMillis = acquireMillis(hikari.getPoolName());
+        return Health.status(waitMillis > maxAcquireMillis ? DEGRADED : Status.UP)
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("max", hikari.getMaximumPoolSize())
+                .withDetail("pending", pool.getThreadsAwaitingConnection())
+                .withDetail("acquireMillis", waitMillis)
+                .withDetail("maxAcquireMillis", maxAcquireMillis)
+                .build();
+    }
+
+    /** Recent 95th-percentile connection wait, or the longest recent wait if no percentiles are published. */
+    private double acquireMillis(String poolName) {
+        Timer acquire = registry.find(ACQUIRE_TIMER).tag("pool", poolName).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        for (ValueAtPercentile percentile : acquire.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return acquire.max(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,94 @@
+package com.org.product_catalog.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code endpoint.latency} for every controller call. The timers are resolved once per handler method
+ * when the context starts, so a request costs a map lookup by {@link Method} and a timer update, with no
+ * route-name building or meter registration on the hot path.
+ *
+ * <p>Route names follow the {@code "GET /products/{id}"} form already used by the controller counters, with
+ * the first required request parameter appended ({@code "GET /products?page"}) to tell apart mappings that
+ * share a path.
+ */
+@Component
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".start";
+
+    private final EndpointMetricsService metricsService;
+    private volatile Map<Method, EndpointMetricsService.EndpointMeters> meters = Map.of();
+
+    public EndpointMetricsInterceptor(EndpointMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        Map<String, RequestMappingHandlerMapping> mappings =
+                event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class);
+        Map<Method, EndpointMetricsService.EndpointMeters> resolved = new HashMap<>(meters);
+        for (RequestMappingHandlerMapping mapping : mappings.values()) {
+            mapping.getHandlerMethods().forEach((info, handler) -> {
+                EndpointMetricsService.EndpointMeters endpointMeters = metricsService.meters(routeOf(info));
+                if (endpointMeters != null) {
+                    resolved.putIfAbsent(handler.getMethod(), endpointMeters);
+                }
+            });
+        }
+        meters = Map.copyOf(resolved);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of the same request keep the original start time
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        EndpointMetricsService.EndpointMeters endpointMeters = meters.get(handlerMethod.getMethod());
+        if (endpointMeters != null) {
+            endpointMeters.latency().record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String routeOf(RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        String method = methods.isEmpty() ? "ANY" : methods.iterator().next().name();
+        Set<String> patterns = info.getPatternValues();
+        String pattern = patterns.isEmpty() ? "/" : patterns.iterator().next();
+        String param = info.getParamsCondition().getExpressions().stream()
+                .filter(expression -> !expression.isNegated())
+                .map(NameValueExpression::getName)
+                .findFirst()
+                .map(name -> "?" + name)
+                .orElse("");
+        return method + " " + pattern + param;
+    }
+}
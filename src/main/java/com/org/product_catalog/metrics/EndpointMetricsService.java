@@ -1,38 +1,152 @@
 package com.org.product_catalog.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class EndpointMetricsService {
 
+    /**
+     * Upper bound on distinct {@code endpoint} tag values. Route templates stay well below it; anything past it
+     * is folded into {@link #OVERFLOW_ENDPOINT} instead of registering new meters.
+     */
+    static final int MAX_ENDPOINTS = 100;
+    static final String OVERFLOW_ENDPOINT = "OTHER";
+
     private final MeterRegistry registry;
-    private final ConcurrentMap<String, Counter> successCounters = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+    private final EndpointMeters overflow;
 
     public EndpointMetricsService(MeterRegistry registry) {
         this.registry = registry;
+        this.overflow = new EndpointMeters(registry, OVERFLOW_ENDPOINT);
     }
 
     public void incrementSuccess(String endpoint) {
-        successCounters.computeIfAbsent(endpoint,
-                ep -> Counter.builder("endpoint.success.count")
-                        .tag("endpoint", ep)
-                        .description("Number of successful calls for endpoint")
-                        .register(registry)
-        ).increment();
+        meters(endpoint).success().increment();
     }
 
     public void incrementFailure(String endpoint) {
-        failureCounters.computeIfAbsent(endpoint,
-                ep -> Counter.builder("endpoint.failure.count")
-                        .tag("endpoint", ep)
-                        .description("Number of failed calls for endpoint")
-                        .register(registry)
-        ).increment();
+        meters(endpoint).failure().increment();
+    }
+
+    /**
+     * Counts an exception that reached the global handler, tagged by route template and exception type so
+     * the tag values stay bounded by the code base rather than by error messages.
+     */
+    public void incrementException(String endpoint, Throwable ex) {
+        Counter.builder("endpoint.exception.count")
+                .tag("endpoint", meters(endpoint).endpoint())
+                .tag("exception", ex.getClass().getSimpleName())
+                .description("Number of unhandled exceptions for endpoint")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Returns the counter of write or search requests that admission control let through, tagged by endpoint
+     * class. Registering is a registry lookup, so callers resolve it once rather than per request.
+     */
+    public Counter admittedCounter(String endpointClass) {
+        return Counter.builder("endpoint.admitted.count")
+                .tag("class", endpointClass)
+                .description("Requests admitted by admission control")
+                .register(registry);
+    }
+
+    /**
+     * Returns the counter of requests that admission control turned away with 429, tagged by endpoint class and
+     * by which budget ran out ({@code rate} for the client's token bucket, {@code concurrency} for calls in
+     * progress). Like {@link #admittedCounter}, resolve it once.
+     */
+    public Counter shedCounter(String endpointClass, String reason) {
+        return Counter.builder("endpoint.shed.count")
+                .tag("class", endpointClass)
+                .tag("reason", reason)
+                .description("Requests rejected by admission control")
+                .register(registry);
+    }
+
+    /**
+     * Returns the meters for an endpoint, registering them on first use. Callers on the request path should
+     * resolve these once (see {@link EndpointMetricsInterceptor}) instead of looking them up per call.
+     */
+    public EndpointMeters meters(String endpoint) {
+        EndpointMeters existing = meters.get(endpoint);
+        if (existing != null) {
+            return existing;
+        }
+        if (endpoint == null || meters.size() >= MAX_ENDPOINTS) {
+            return overflow;
+        }
+        return meters.computeIfAbsent(endpoint, ep -> new EndpointMeters(registry, ep));
+    }
+
+    /**
+     * Records the size, outcome and duration of a bulk call. {@code bulk.items.count} gives item volume per
+     * outcome and {@code bulk.throughput} the items written per second by each call.
+     */
+    public void recordBulk(String endpoint, int succeeded, int failed, long durationMs) {
+        Counter.builder("bulk.items.count")
+                .tag("endpoint", endpoint)
+                .tag("outcome", "success")
+                .description("Number of items processed by bulk calls")
+                .register(registry)
+                .increment(succeeded);
+        Counter.builder("bulk.items.count")
+                .tag("endpoint", endpoint)
+                .tag("outcome", "failure")
+                .description("Number of items processed by bulk calls")
+                .register(registry)
+                .increment(failed);
+        Timer.builder("bulk.duration")
+                .tag("endpoint", endpoint)
+                .description("Time taken by bulk calls")
+                .register(registry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+        if (durationMs > 0) {
+            DistributionSummary.builder("bulk.throughput")
+                    .tag("endpoint", endpoint)
+                    .baseUnit("items/s")
+                    .description("Items processed per second by bulk calls")
+                    .register(registry)
+                    .record((succeeded + failed) * 1000.0 / durationMs);
+        }
+    }
+
+    /**
+     * The success/failure counters and latency timer of one endpoint. {@code endpoint.latency} publishes a
+     * percentile histogram for the monitoring backend plus p50/p95/p99 computed in-process for
+     * {@code /actuator/metrics}.
+     */
+    public record EndpointMeters(String endpoint, Counter success, Counter failure, Timer latency) {
+
+        EndpointMeters(MeterRegistry registry, String endpoint) {
+            this(endpoint,
+                    Counter.builder("endpoint.success.count")
+                            .tag("endpoint", endpoint)
+                            .description("Number of successful calls for endpoint")
+                            .register(registry),
+                    Counter.builder("endpoint.failure.count")
+                            .tag("endpoint", endpoint)
+                            .description("Number of failed calls for endpoint")
+                            .register(registry),
+                    Timer.builder("endpoint.latency")
+                            .tag("endpoint", endpoint)
+                            .description("Time taken to handle calls for endpoint")
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .publishPercentileHistogram()
+                            .minimumExpectedValue(Duration.ofMillis(1))
+                            .maximumExpectedValue(Duration.ofSeconds(30))
+                            .register(registry));
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.org.product_catalog.model;
+
+/**
+ * Outcome of one element of a bulk request. {@code index} is the element's position in the request body.
+ */
+public class BulkItemResult {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, FAILED }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+
+    public BulkItemResult(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkItemResult of(int index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failed(int index, Long id, String message) {
+        return new BulkItemResult(index, id, Status.FAILED, message);
+    }
+
+    // Getters
+    public int getIndex() { return index; }
+    public Long getId() { return id; }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+
+    public boolean isSucceeded() {
+        return status != Status.FAILED && status != Status.NOT_FOUND;
+    }
+}
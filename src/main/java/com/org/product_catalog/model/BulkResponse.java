@@ -0,0 +1,29 @@
+package com.org.product_catalog.model;
+
+import java.util.List;
+
+/**
+ * Summary and per-item results of a bulk create, update or delete.
+ */
+public class BulkResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<BulkItemResult> items;
+
+    public BulkResponse(List<BulkItemResult> items, long durationMs) {
+        this.items = items;
+        this.total = items.size();
+        this.succeeded = (int) items.stream().filter(BulkItemResult::isSucceeded).count();
+        this.failed = total - succeeded;
+        this.durationMs = durationMs;
+    }
+
+    // Getters
+    public int getTotal() { return total; }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public long getDurationMs() { return durationMs; }
+    public List<BulkItemResult> getItems() { return items; }
+}
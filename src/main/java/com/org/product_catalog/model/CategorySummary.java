@@ -0,0 +1,24 @@
+package com.org.product_catalog.model;
+
+/**
+ * Product count and price range of one category. Prices are {@code null} when no product in the category has one.
+ */
+public class CategorySummary {
+    private String category;
+    private long count;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public CategorySummary(String category, long count, Double minPrice, Double maxPrice) {
+        this.category = category;
+        this.count = count;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    // Getters
+    public String getCategory() { return category; }
+    public long getCount() { return count; }
+    public Double getMinPrice() { return minPrice; }
+    public Double getMaxPrice() { return maxPrice; }
+}
@@ -0,0 +1,24 @@
+package com.org.product_catalog.model;
+
+import java.util.List;
+
+/**
+ * One batch of the change log. Clients pass {@code nextSince} back as {@code since} until {@code hasMore} is
+ * false, and keep it for their next incremental sync.
+ */
+public class ChangeBatch {
+    private List<ChangeEntry> changes;
+    private long nextSince;
+    private boolean hasMore;
+
+    public ChangeBatch(List<ChangeEntry> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    // Getters
+    public List<ChangeEntry> getChanges() { return changes; }
+    public long getNextSince() { return nextSince; }
+    public boolean isHasMore() { return hasMore; }
+}
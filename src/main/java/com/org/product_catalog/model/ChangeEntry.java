@@ -0,0 +1,33 @@
+package com.org.product_catalog.model;
+
+import java.time.Instant;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+
+/**
+ * One change log entry as served to sync clients. {@code product} is the product's current state, or
+ * {@code null} when it has been deleted since.
+ */
+public class ChangeEntry {
+    private long seq;
+    private ProductChangedEvent.Type type;
+    private Long productId;
+    private Instant changedAt;
+    private Product product;
+
+    public ChangeEntry(long seq, ProductChangedEvent.Type type, Long productId, Instant changedAt, Product product) {
+        this.seq = seq;
+        this.type = type;
+        this.productId = productId;
+        this.changedAt = changedAt;
+        this.product = product;
+    }
+
+    // Getters
+    public long getSeq() { return seq; }
+    public ProductChangedEvent.Type getType() { return type; }
+    public Long getProductId() { return productId; }
+    public Instant getChangedAt() { return changedAt; }
+    public Product getProduct() { return product; }
+}
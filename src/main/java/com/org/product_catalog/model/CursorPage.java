@@ -0,0 +1,57 @@
+package com.org.product_catalog.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One keyset page of results. {@code nextCursor} is an opaque token the client sends back
+ * to get the following page; it is {@code null} once the last page has been served.
+ */
+public class CursorPage<T> {
+    private static final String PREFIX = "id:";
+
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+
+    public CursorPage(List<T> items, int size, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public int getSize() { return size; }
+    public String getNextCursor() { return nextCursor; }
+
+    /** The same page carrying {@code items} instead, e.g. a different view of the same rows. */
+    public <R> CursorPage<R> withItems(List<R> items) {
+        return new CursorPage<>(items, size, nextCursor);
+    }
+
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encodeCursor(Long)}. A blank token means "start from the beginning".
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
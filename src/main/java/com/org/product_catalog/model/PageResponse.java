@@ -0,0 +1,47 @@
+package com.org.product_catalog.model;
+
+import java.util.List;
+
+/**
+ * One offset-based page of results plus the totals a client needs to render paging controls. Totals are
+ * {@code null} on pages that were fetched without a count; {@code hasNext} is always set.
+ */
+public class PageResponse<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+
+    public PageResponse(List<T> items, int page, int size, long totalElements, int totalPages, boolean hasNext) {
+        this(items, page, size, (Long) totalElements, (Integer) totalPages, hasNext);
+    }
+
+    private PageResponse(List<T> items, int page, int size, Long totalElements, Integer totalPages, boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public Long getTotalElements() { return totalElements; }
+    public Integer getTotalPages() { return totalPages; }
+    public boolean isHasNext() { return hasNext; }
+
+    /** A page fetched without a count: it knows whether another follows, but not how many. */
+    public static <T> PageResponse<T> withoutTotals(List<T> items, int page, int size, boolean hasNext) {
+        return new PageResponse<>(items, page, size, null, null, hasNext);
+    }
+
+    /** The same page carrying {@code items} instead, e.g. a different view of the same rows. */
+    public <R> PageResponse<R> withItems(List<R> items) {
+        return new PageResponse<>(items, page, size, totalElements, totalPages, hasNext);
+    }
+}
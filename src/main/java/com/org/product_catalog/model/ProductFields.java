@@ -0,0 +1,98 @@
+package com.org.product_catalog.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.org.product_catalog.entity.Product;
+
+/**
+ * The product fields a client asked for with {@code fields=name,price,...}. Requests that only touch summary
+ * fields are served from the {@link ProductSummary} projection; {@code id} is always returned.
+ */
+public final class ProductFields {
+
+    enum Field {
+        ID("id", true), NAME("name", true), DESCRIPTION("description", false), PRICE("price", true),
+        CATEGORY("category", true), VERSION("version", false), UPDATED_AT("updatedAt", false);
+
+        final String json;
+        final boolean inSummary;
+
+        Field(String json, boolean inSummary) {
+            this.json = json;
+            this.inSummary = inSummary;
+        }
+    }
+
+    private final Set<Field> fields;
+
+    private ProductFields(Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /** Parses a comma-separated field list; returns null when the parameter is absent, meaning full products. */
+    public static ProductFields parse(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return null;
+        }
+        Set<Field> fields = EnumSet.of(Field.ID);
+        for (String name : csv.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            fields.add(Arrays.stream(Field.values())
+                    .filter(field -> field.json.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + trimmed + "'; expected any of "
+                            + Arrays.stream(Field.values()).map(f -> f.json).collect(Collectors.joining(",")))));
+        }
+        return new ProductFields(fields);
+    }
+
+    /** {@link ProductSummary} when every requested field is in it, otherwise {@link Product}. */
+    public Class<?> view() {
+        return fields.stream().allMatch(field -> field.inSummary) ? ProductSummary.class : Product.class;
+    }
+
+    /** Copies the requested fields of each row, in declaration order, into a map ready for serialization. */
+    public List<Map<String, Object>> select(List<?> rows) {
+        List<Map<String, Object>> selected = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>(fields.size() * 2);
+            for (Field field : fields) {
+                values.put(field.json, row instanceof ProductSummary summary ? valueOf(summary, field) : valueOf((Product) row, field));
+            }
+            selected.add(values);
+        }
+        return selected;
+    }
+
+    private static Object valueOf(ProductSummary summary, Field field) {
+        return switch (field) {
+            case ID -> summary.getId();
+            case NAME -> summary.getName();
+            case PRICE -> summary.getPrice();
+            case CATEGORY -> summary.getCategory();
+            default -> throw new IllegalStateException(field.json + " is not in the summary view");
+        };
+    }
+
+    private static Object valueOf(Product product, Field field) {
+        return switch (field) {
+            case ID -> product.getId();
+            case NAME -> product.getName();
+            case DESCRIPTION -> product.getDescription();
+            case PRICE -> product.getPrice();
+            case CATEGORY -> product.getCategory();
+            case VERSION -> product.getVersion();
+            case UPDATED_AT -> product.getUpdatedAt();
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.org.product_catalog.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Price range and sort order from {@code minPrice=}, {@code maxPrice=} and {@code sort=field[,asc|desc]}. Both
+ * bounds are inclusive; products without a price never match a range. Results are always ordered by id after
+ * the requested field, so pages do not overlap when several products share a price or name.
+ * <p>
+ * Pages of a filtered listing only say whether another page follows. {@code total=true} asks for exact totals
+ * as well, at the price of a count over the whole matching range.
+ */
+public final class ProductFilter {
+
+    /** No range, id order: what the listings return without parameters. */
+    public static final ProductFilter NONE = new ProductFilter(null, null, null, false);
+
+    /** Fields clients may sort by; {@code price} and {@code id} orders are served from an index. */
+    private static final String[] SORTABLE = {"id", "name", "price", "updatedAt"};
+
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Sort.Order order;
+    private final boolean withTotal;
+
+    private ProductFilter(Double minPrice, Double maxPrice, Sort.Order order, boolean withTotal) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.order = order;
+        this.withTotal = withTotal;
+    }
+
+    /** Returns null when none of the parameters was sent. */
+    public static ProductFilter parse(Double minPrice, Double maxPrice, String sort) {
+        return parse(minPrice, maxPrice, sort, null);
+    }
+
+    /** As {@link #parse(Double, Double, String)}, also taking {@code total=}; null when none was sent. */
+    public static ProductFilter parse(Double minPrice, Double maxPrice, String sort, Boolean total) {
+        if (minPrice == null && maxPrice == null && (sort == null || sort.isBlank()) && total == null) {
+            return null;
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice: " + minPrice + " > " + maxPrice);
+        }
+        return new ProductFilter(minPrice, maxPrice, sort == null || sort.isBlank() ? null : parseOrder(sort),
+                Boolean.TRUE.equals(total));
+    }
+
+    private static Sort.Order parseOrder(String sort) {
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        String property = Arrays.stream(SORTABLE).filter(f -> f.equalsIgnoreCase(field)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot sort by '" + field + "'; expected any of "
+                        + String.join(",", SORTABLE)));
+        if (parts.length == 1) {
+            return Sort.Order.asc(property);
+        }
+        String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+        if (parts.length > 2 || !(direction.equals("asc") || direction.equals("desc"))) {
+            throw new IllegalArgumentException("sort must look like field or field,asc|desc: " + sort);
+        }
+        return direction.equals("asc") ? Sort.Order.asc(property) : Sort.Order.desc(property);
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /** Inclusive lower bound; the lowest double when only a maximum was sent. */
+    public double lowerPrice() {
+        return minPrice == null ? -Double.MAX_VALUE : minPrice;
+    }
+
+    /** Inclusive upper bound; the highest double when only a minimum was sent. */
+    public double upperPrice() {
+        return maxPrice == null ? Double.MAX_VALUE : maxPrice;
+    }
+
+    /** Whether the page should carry exact totals, which costs a count over the matching range. */
+    public boolean isWithTotal() {
+        return withTotal;
+    }
+
+    /** Whether an order other than the default was requested. */
+    public boolean isSorted() {
+        return order != null;
+    }
+
+    /** The requested order with id as tie-breaker; plain id order when none was requested. */
+    public Sort sort() {
+        if (order == null || order.getProperty().equals("id")) {
+            return Sort.by(order == null ? Sort.Order.asc("id") : order);
+        }
+        return Sort.by(order, Sort.Order.asc("id"));
+    }
+
+    public Double getMinPrice() { return minPrice; }
+    public Double getMaxPrice() { return maxPrice; }
+}
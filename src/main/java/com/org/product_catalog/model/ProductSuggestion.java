@@ -0,0 +1,24 @@
+package com.org.product_catalog.model;
+
+/**
+ * One search-box suggestion: a product name or a category, with the number of products that carry it.
+ */
+public class ProductSuggestion {
+
+    public enum Type { NAME, CATEGORY }
+
+    private String text;
+    private Type type;
+    private long count;
+
+    public ProductSuggestion(String text, Type type, long count) {
+        this.text = text;
+        this.type = type;
+        this.count = count;
+    }
+
+    // Getters
+    public String getText() { return text; }
+    public Type getType() { return type; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,25 @@
+package com.org.product_catalog.model;
+
+/**
+ * A product without its description, for list, search and category views. Repository queries return it as a
+ * projection, so the description column is never read and no entity is created or tracked.
+ */
+public class ProductSummary {
+    private Long id;
+    private String name;
+    private Double price;
+    private String category;
+
+    public ProductSummary(Long id, String name, Double price, String category) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.category = category;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public Double getPrice() { return price; }
+    public String getCategory() { return category; }
+}
@@ -0,0 +1,471 @@
+package com.org.product_catalog.replica;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.ProductSummary;
+import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.repo.ProductScanner;
+import com.org.product_catalog.warmup.InProcessIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Optional memory-resident copy of the whole catalog ({@code catalog.replica.enabled}), so {@code getById} and
+ * category listings are answered without Hibernate or H2.
+ * <p>
+ * Products are stored column by column in parallel arrays kept in id order: ids, versions and update times as
+ * {@code long}, prices as {@code double} ({@code NaN} for none) and categories as {@code int} codes into a
+ * dictionary. Names and descriptions are UTF-8 bytes in one shared arena addressed by offset and length. A
+ * lookup is a binary search over the id column and allocates nothing until the row is turned back into a
+ * {@link Product} for the response. Deleted rows are only flagged; the columns and the arena are compacted once
+ * a quarter of the rows, or half of the arena, is garbage; only the ids of dropped rows are remembered.
+ * <p>
+ * Like the other in-memory views it is built by a full scan at startup and then follows committed
+ * {@link ProductChangedEvent}s. A patch event carries only the changed fields, so the row is re-read from the
+ * database; versions keep an older state that arrives late from overwriting a newer one. Its size is published
+ * as {@code catalog.replica.products} and {@code catalog.replica.bytes}.
+ */
+@Component
+public class CatalogReplica implements InProcessIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogReplica.class);
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_ARENA = 64 * 1024;
+    /** Marks a missing version or update time. */
+    private static final long NONE = Long.MIN_VALUE;
+    /** Length recorded for a {@code null} string. */
+    private static final int NULL_STRING = -1;
+    /** Category code recorded for a product without a category. */
+    private static final int NO_CATEGORY = -1;
+
+    private final ProductRepo repo;
+    private final ProductScanner scanner;
+    private final boolean enabled;
+    private volatile boolean ready;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Rows in use, deleted ones included. */
+    private int rows;
+    private final BitSet deleted = new BitSet();
+    private int deletedRows;
+    /**
+     * Sorted ids of deleted products whose rows compaction dropped, kept until the next rebuild so an event that
+     * arrives after the delete cannot bring them back; 8 bytes per deleted product.
+     */
+    private long[] droppedIds;
+    private int dropped;
+
+    private long[] ids;
+    private long[] versions;
+    /** Epoch nanoseconds. */
+    private long[] updatedAt;
+    private double[] prices;
+    private int[] categories;
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private int[] descriptionOffsets;
+    private int[] descriptionLengths;
+
+    private byte[] arena;
+    private int arenaUsed;
+    /** Arena bytes no live row points at any more. */
+    private int arenaGarbage;
+
+    /** Category spellings as written, by code. */
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    /** {@link Product#normalizeCategory(String) Normalized} category of each code, as a code of its own. */
+    private int[] categoryKeys = new int[16];
+    private final Map<String, Integer> keyCodes = new HashMap<>();
+
+    public CatalogReplica(ProductRepo repo, ProductScanner scanner, CatalogProperties properties,
+                          MeterRegistry registry) {
+        this.repo = repo;
+        this.scanner = scanner;
+        this.enabled = properties.getReplica().isEnabled();
+        clear();
+        Gauge.builder("catalog.replica.products", this, CatalogReplica::size)
+                .description("Products held by the memory-resident catalog")
+                .register(registry);
+        Gauge.builder("catalog.replica.bytes", this, CatalogReplica::footprintBytes)
+                .description("Heap held by the memory-resident catalog's columns and string arena")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /** Whether lookups can be served from memory: the replica is enabled and its initial scan has finished. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<Product> get(long id) {
+        lock.readLock().lock();
+        try {
+            int row = find(id);
+            return row < 0 ? Optional.empty() : Optional.of(product(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Products whose category matches case-insensitively, in id order, as {@link Product} or {@link ProductSummary}. */
+    public <T> List<T> findByCategory(String category, Class<T> view) {
+        String key = Product.normalizeCategory(category);
+        lock.readLock().lock();
+        try {
+            Integer match = key == null ? null : keyCodes.get(key);
+            if (match == null) {
+                return List.of();
+            }
+            int keyCode = match;
+            List<T> result = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                int code = categories[row];
+                if (code != NO_CATEGORY && categoryKeys[code] == keyCode && !deleted.get(row)) {
+                    result.add(view == ProductSummary.class ? view.cast(summary(row)) : view.cast(product(row)));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Live products held. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deletedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes allocated for the columns, the string arena and the record of deleted rows. */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) ids.length * (3 * Long.BYTES + Double.BYTES + 5 * Integer.BYTES);
+            return columns + arena.length + deleted.size() / Byte.SIZE + (long) droppedIds.length * Long.BYTES
+                    + (long) categoryKeys.length * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Inserts or replaces a product; ignored if the replica already holds a newer version or saw it deleted. */
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(ids, 0, rows, product.getId());
+            if (row >= 0) {
+                // Ids are never reused, so a deleted row can only be met by an event that arrived late
+                if (deleted.get(row) || isOlder(product.getVersion(), versions[row])) {
+                    return;
+                }
+                arenaGarbage += bytes(nameLengths[row]) + bytes(descriptionLengths[row]);
+            } else if (Arrays.binarySearch(droppedIds, 0, dropped, product.getId()) >= 0) {
+                return;
+            } else {
+                row = insertRow(-(row + 1));
+                ids[row] = product.getId();
+            }
+            versions[row] = product.getVersion() == null ? NONE : product.getVersion();
+            updatedAt[row] = product.getUpdatedAt() == null ? NONE : epochNanos(product.getUpdatedAt());
+            prices[row] = product.getPrice() == null ? Double.NaN : product.getPrice();
+            categories[row] = categoryCode(product.getCategory());
+            byte[] name = utf8(product.getName());
+            nameOffsets[row] = store(name);
+            nameLengths[row] = name == null ? NULL_STRING : name.length;
+            byte[] description = utf8(product.getDescription());
+            descriptionOffsets[row] = store(description);
+            descriptionLengths[row] = description == null ? NULL_STRING : description.length;
+            if (arenaGarbage > arenaUsed / 2 && arenaGarbage > INITIAL_ARENA) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = find(id);
+            if (row < 0) {
+                return;
+            }
+            deleted.set(row);
+            deletedRows++;
+            arenaGarbage += bytes(nameLengths[row]) + bytes(descriptionLengths[row]);
+            if (deletedRows > rows / 4 || arenaGarbage > arenaUsed / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED -> put(event.getProduct());
+            // Read outside the lock; the version check drops it if a newer write got in first
+            case PATCHED -> repo.findById(event.getId()).ifPresentOrElse(this::put, () -> remove(event.getId()));
+            case DELETED -> remove(event.getId());
+        }
+    }
+
+    @Override
+    public String indexName() {
+        return "replica";
+    }
+
+    /**
+     * Replaces the replica with a full scan. Writers are held off for the duration so no event is lost between
+     * the scan and the swap.
+     */
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            long scanned = scanner.forEach(this::put);
+            ready = true;
+            log.info("Catalog replica built: {} products, {} categories, {} KiB in {} ms", scanned,
+                    categoryNames.size(), footprintBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        rows = 0;
+        deleted.clear();
+        deletedRows = 0;
+        droppedIds = new long[0];
+        dropped = 0;
+        ids = new long[INITIAL_ROWS];
+        versions = new long[INITIAL_ROWS];
+        updatedAt = new long[INITIAL_ROWS];
+        prices = new double[INITIAL_ROWS];
+        categories = new int[INITIAL_ROWS];
+        nameOffsets = new int[INITIAL_ROWS];
+        nameLengths = new int[INITIAL_ROWS];
+        descriptionOffsets = new int[INITIAL_ROWS];
+        descriptionLengths = new int[INITIAL_ROWS];
+        arena = new byte[INITIAL_ARENA];
+        arenaUsed = 0;
+        arenaGarbage = 0;
+        categoryNames.clear();
+        categoryCodes.clear();
+        keyCodes.clear();
+    }
+
+    private int find(long id) {
+        int row = Arrays.binarySearch(ids, 0, rows, id);
+        return row < 0 || deleted.get(row) ? -1 : row;
+    }
+
+    private static boolean isOlder(Long version, long current) {
+        return version != null && current != NONE && version < current;
+    }
+
+    /** Opens an empty row at {@code at}, shifting later rows up; ids normally arrive in order, so this appends. */
+    private int insertRow(int at) {
+        if (rows == ids.length) {
+            int capacity = rows + (rows >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+        if (at < rows) {
+            int moved = rows - at;
+            System.arraycopy(ids, at, ids, at + 1, moved);
+            System.arraycopy(versions, at, versions, at + 1, moved);
+            System.arraycopy(updatedAt, at, updatedAt, at + 1, moved);
+            System.arraycopy(prices, at, prices, at + 1, moved);
+            System.arraycopy(categories, at, categories, at + 1, moved);
+            System.arraycopy(nameOffsets, at, nameOffsets, at + 1, moved);
+            System.arraycopy(nameLengths, at, nameLengths, at + 1, moved);
+            System.arraycopy(descriptionOffsets, at, descriptionOffsets, at + 1, moved);
+            System.arraycopy(descriptionLengths, at, descriptionLengths, at + 1, moved);
+            for (int row = deleted.previousSetBit(rows - 1); row >= at; row = deleted.previousSetBit(row - 1)) {
+                deleted.clear(row);
+                deleted.set(row + 1);
+            }
+        }
+        nameLengths[at] = NULL_STRING;
+        descriptionLengths[at] = NULL_STRING;
+        rows++;
+        return at;
+    }
+
+    /** Drops deleted rows and rewrites the arena with only the strings live rows still point at. */
+    private void compact() {
+        byte[] oldArena = arena;
+        arena = new byte[Math.max(INITIAL_ARENA, arenaUsed - arenaGarbage + (arenaUsed >> 2))];
+        arenaUsed = 0;
+        long[] newlyDropped = new long[deletedRows];
+        int kept = 0;
+        for (int row = 0, next = 0; row < rows; row++) {
+            if (deleted.get(row)) {
+                newlyDropped[next++] = ids[row];
+                continue;
+            }
+            ids[kept] = ids[row];
+            versions[kept] = versions[row];
+            updatedAt[kept] = updatedAt[row];
+            prices[kept] = prices[row];
+            categories[kept] = categories[row];
+            nameLengths[kept] = nameLengths[row];
+            nameOffsets[kept] = copyToArena(oldArena, nameOffsets[row], nameLengths[row]);
+            descriptionLengths[kept] = descriptionLengths[row];
+            descriptionOffsets[kept] = copyToArena(oldArena, descriptionOffsets[row], descriptionLengths[row]);
+            kept++;
+        }
+        log.debug("Catalog replica compacted: {} rows dropped, {} arena bytes reclaimed", rows - kept, arenaGarbage);
+        rows = kept;
+        mergeDropped(newlyDropped);
+        deleted.clear();
+        deletedRows = 0;
+        arenaGarbage = 0;
+    }
+
+    private void mergeDropped(long[] sorted) {
+        long[] merged = new long[dropped + sorted.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < dropped && j < sorted.length) {
+            merged[k++] = droppedIds[i] < sorted[j] ? droppedIds[i++] : sorted[j++];
+        }
+        while (i < dropped) {
+            merged[k++] = droppedIds[i++];
+        }
+        while (j < sorted.length) {
+            merged[k++] = sorted[j++];
+        }
+        droppedIds = merged;
+        dropped = merged.length;
+    }
+
+    private int copyToArena(byte[] from, int offset, int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        int at = reserve(length);
+        System.arraycopy(from, offset, arena, at, length);
+        return at;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Appends {@code utf8} to the arena and returns its offset; 0 for {@code null}. */
+    private int store(byte[] utf8) {
+        if (utf8 == null) {
+            return 0;
+        }
+        int at = reserve(utf8.length);
+        System.arraycopy(utf8, 0, arena, at, utf8.length);
+        return at;
+    }
+
+    private int reserve(int length) {
+        if (arenaUsed + length > arena.length) {
+            long capacity = Math.max((long) arena.length + (arena.length >> 1), (long) arenaUsed + length);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Catalog replica string arena is full");
+            }
+            arena = Arrays.copyOf(arena, (int) capacity);
+        }
+        int at = arenaUsed;
+        arenaUsed += length;
+        return at;
+    }
+
+    private String string(int offset, int length) {
+        return length == NULL_STRING ? null : new String(arena, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private static int bytes(int length) {
+        return Math.max(length, 0);
+    }
+
+    private int categoryCode(String category) {
+        if (category == null) {
+            return NO_CATEGORY;
+        }
+        Integer code = categoryCodes.get(category);
+        if (code != null) {
+            return code;
+        }
+        code = categoryNames.size();
+        categoryNames.add(category);
+        categoryCodes.put(category, code);
+        if (code == categoryKeys.length) {
+            categoryKeys = Arrays.copyOf(categoryKeys, code * 2);
+        }
+        categoryKeys[code] = keyCodes.computeIfAbsent(Product.normalizeCategory(category), k -> keyCodes.size());
+        return code;
+    }
+
+    private Product product(int row) {
+        String category = categories[row] == NO_CATEGORY ? null : categoryNames.get(categories[row]);
+        return new Product(ids[row], string(nameOffsets[row], nameLengths[row]),
+                string(descriptionOffsets[row], descriptionLengths[row]), price(row), category,
+                Product.normalizeCategory(category), versions[row] == NONE ? null : versions[row],
+                updatedAt[row] == NONE ? null : Instant.ofEpochSecond(0, updatedAt[row]));
+    }
+
+    private ProductSummary summary(int row) {
+        return new ProductSummary(ids[row], string(nameOffsets[row], nameLengths[row]), price(row),
+                categories[row] == NO_CATEGORY ? null : categoryNames.get(categories[row]));
+    }
+
+    private Double price(int row) {
+        return Double.isNaN(prices[row]) ? null : prices[row];
+    }
+
+    private static long epochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+}
@@ -0,0 +1,12 @@
+package com.org.product_catalog.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.org.product_catalog.entity.ChangeLogState;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ChangeLogStateRepo extends JpaRepository<ChangeLogState, Integer> {
+}
@@ -0,0 +1,47 @@
+package com.org.product_catalog.repo;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.org.product_catalog.entity.ProductChange;
+import com.org.product_catalog.event.ProductChangedEvent;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ProductChangeRepo extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * Change entries in {@code (since, upTo]} in sequence order, each paired with the product's current row
+     * ({@code null} once the product is gone).
+     */
+    @Query("select c, p from ProductChange c left join Product p on p.id = c.productId "
+            + "where c.seq > :since and c.seq <= :upTo order by c.seq")
+    List<Object[]> findBatch(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    @Query("select max(c.seq) from ProductChange c")
+    Long findMaxSeq();
+
+    /** Removes entries up to {@code upTo} that a later entry for the same product, also up to {@code upTo}, supersedes. */
+    @Modifying
+    @Transactional
+    @Query("delete from ProductChange c where c.seq <= :upTo and exists (select 1 from ProductChange n "
+            + "where n.productId = c.productId and n.seq > c.seq and n.seq <= :upTo)")
+    int deleteSuperseded(@Param("upTo") long upTo);
+
+    @Query("select max(c.seq) from ProductChange c where c.type = :type and c.changedAt < :before and c.seq <= :upTo")
+    Long findLastSeqOfTypeBefore(@Param("type") ProductChangedEvent.Type type, @Param("before") Instant before,
+                                 @Param("upTo") long upTo);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProductChange c where c.type = :type and c.seq <= :upTo")
+    int deleteOfTypeUpTo(@Param("type") ProductChangedEvent.Type type, @Param("upTo") long upTo);
+}
@@ -1,21 +1,145 @@
 package com.org.product_catalog.repo;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.org.product_catalog.entity.Product;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * Queries run in read-only transactions unless marked otherwise, so Hibernate keeps no dirty-checking snapshots
+ * of what they load. Methods taking a {@code Class<T> type} return either {@link Product} entities or a
+ * projection such as {@link com.org.product_catalog.model.ProductSummary}, which selects only its own columns.
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface ProductRepo extends JpaRepository<Product, Long> {
 
-	List<Product> findByCategoryIgnoreCase(String category);
+    /** JDBC fetch size used by {@link #streamAll()}; also the export batch after which the context is cleared. */
+    int EXPORT_FETCH_SIZE = 500;
+
+	/** Exact match on the indexed, pre-normalized column; see {@link Product#normalizeCategory(String)}. */
+	<T> List<T> findByCategoryKey(String categoryKey, Class<T> type);
+
+    /** Offset page of one category in the order given by {@code pageable}. */
+    <T> Page<T> findByCategoryKey(String categoryKey, Pageable pageable, Class<T> type);
+
+    /** Offset page of one category within an inclusive price range; one range scan of the (category, price) index. */
+    <T> Page<T> findByCategoryKeyAndPriceBetween(String categoryKey, double minPrice, double maxPrice,
+                                                 Pageable pageable, Class<T> type);
+
+    /** Offset page within an inclusive price range, served from the price index. */
+    <T> Page<T> findByPriceBetween(double minPrice, double maxPrice, Pageable pageable, Class<T> type);
+
+    /*
+     * The slice variants below fetch one row past the page to learn whether another follows, instead of counting
+     * the whole matching range as the Page ones do; their cost stays with the page size.
+     */
+
+    <T> Slice<T> findSliceByCategoryKey(String categoryKey, Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findSliceByCategoryKeyAndPriceBetween(String categoryKey, double minPrice, double maxPrice,
+                                                      Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findSliceByPriceBetween(double minPrice, double maxPrice, Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findSliceBy(Pageable pageable, Class<T> type);
 
     @Query("select p from Product p where lower(p.name) like lower(concat('%', :q, '%')) or lower(p.category) like lower(concat('%', :q, '%'))")
     List<Product> searchByNameOrCategory(@Param("q") String q);
 
+    /** First {@code limit} products in id order; backs the capped unpaged listing. */
+    <T> List<T> findAllByOrderByIdAsc(Limit limit, Class<T> type);
+
+    /** Offset page in the order given by {@code pageable}. */
+    <T> Page<T> findBy(Pageable pageable, Class<T> type);
+
+    /** The given products, in no particular order; missing ids are skipped. */
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    /** One page of the given products in the order given by {@code pageable}, without a count query. */
+    <T> List<T> findByIdIn(Collection<Long> ids, Pageable pageable, Class<T> type);
+
+    /** Like {@link #findByIdIn(Collection, Pageable, Class)}, keeping only products within an inclusive price range. */
+    <T> List<T> findByIdInAndPriceBetween(Collection<Long> ids, double minPrice, double maxPrice,
+                                          Pageable pageable, Class<T> type);
+
+    /** Which of the given products are priced within an inclusive range. */
+    @Query("select p.id from Product p where p.id in :ids and p.price between :minPrice and :maxPrice")
+    List<Long> findIdsInPriceRange(@Param("ids") Collection<Long> ids, @Param("minPrice") double minPrice,
+                                   @Param("maxPrice") double maxPrice);
+
+    /** Keyset page: seeks past {@code afterId} on the primary key, so cost does not grow with page depth. */
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit, Class<T> type);
+
+    /** Per-category totals straight from the table; used to check the in-memory facets for drift. */
+    @Query("select p.categoryKey as categoryKey, count(p) as count, min(p.price) as minPrice, max(p.price) as maxPrice "
+            + "from Product p group by p.categoryKey")
+    List<CategoryStats> categoryStats();
+
+    interface CategoryStats {
+        String getCategoryKey();
+        long getCount();
+        Double getMinPrice();
+        Double getMaxPrice();
+    }
+
+    /**
+     * Partial update in a single statement, without loading the row: {@code null} arguments keep the stored
+     * value. Bumps the version like a regular update; with {@code expectedVersion} set, a row at another
+     * version is left alone. Returns the number of rows changed (0 or 1). Bypasses the entity callbacks, so
+     * the caller passes {@code categoryKey} and {@code updatedAt} itself.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Product p set p.name = coalesce(:name, p.name), "
+            + "p.description = coalesce(:description, p.description), "
+            + "p.price = coalesce(:price, p.price), "
+            + "p.category = coalesce(:category, p.category), "
+            + "p.categoryKey = coalesce(:categoryKey, p.categoryKey), "
+            + "p.version = p.version + 1, p.updatedAt = :updatedAt "
+            + "where p.id = :id and (:expectedVersion is null or p.version = :expectedVersion)")
+    int patch(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion,
+              @Param("name") String name, @Param("description") String description, @Param("price") Double price,
+              @Param("category") String category, @Param("categoryKey") String categoryKey,
+              @Param("updatedAt") Instant updatedAt);
+
+    /** Deletes by id in one statement; unlike {@code deleteById} it does not load the entity first. */
+    @Modifying
+    @Transactional
+    @Query("delete from Product p where p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Query("select p.id from Product p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Scrolls the whole catalog in id order with a fixed JDBC fetch size. Entities are loaded read-only so
+     * Hibernate keeps no dirty-check snapshots; the caller must consume the stream inside a transaction
+     * and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
 }
@@ -0,0 +1,50 @@
+package com.org.product_catalog.repo;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.org.product_catalog.entity.Product;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Full-catalog scan shared by the export endpoint and the in-process indexes that rebuild from the database.
+ * Runs {@link ProductRepo#streamAll()} in a read-only transaction and clears the persistence context every
+ * {@link ProductRepo#EXPORT_FETCH_SIZE} rows, so memory does not grow with the catalog.
+ */
+@Component
+public class ProductScanner {
+
+    private final ProductRepo repo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductScanner(ProductRepo repo, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** Feeds every product, in id order, to {@code sink} and returns how many were read. */
+    public long forEach(Consumer<Product> sink) {
+        Long count = readOnlyTransaction.execute(status -> {
+            long read = 0;
+            try (Stream<Product> products = repo.streamAll()) {
+                for (Product product : (Iterable<Product>) products::iterator) {
+                    sink.accept(product);
+                    // Detach what has been handed out so the persistence context does not grow with the catalog
+                    if (++read % ProductRepo.EXPORT_FETCH_SIZE == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return read;
+        });
+        return count == null ? 0 : count;
+    }
+}
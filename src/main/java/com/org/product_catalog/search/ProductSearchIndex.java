@@ -0,0 +1,315 @@
+package com.org.product_catalog.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.repo.ProductScanner;
+import com.org.product_catalog.warmup.InProcessIndex;
+
+/**
+ * In-process inverted index over product name, category and description.
+ * <p>
+ * Every query term must match (AND semantics). A term matches a document either exactly or as a prefix of one
+ * of its terms; prefix matches score half of an exact match, and name matches outrank category matches, which
+ * outrank description matches. The index is built from the database once the application is ready and then
+ * kept current from {@link ProductChangedEvent}s; until the first build completes {@link #isReady()} is false.
+ */
+@Component
+public class ProductSearchIndex implements InProcessIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    enum Field {
+        NAME(3f), CATEGORY(2f), DESCRIPTION(1f);
+
+        final float weight;
+
+        Field(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /** Upper bound on dictionary terms a single prefix expands to, so one-letter queries stay cheap. */
+    private static final int MAX_PREFIX_EXPANSIONS = 512;
+
+    private static final Comparator<Map.Entry<Long, Float>> BY_RELEVANCE =
+            Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** term -> (product id -> summed field weight) */
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    /** product id -> terms per {@link Field}, kept so a document can be unindexed */
+    private final Map<Long, String[][]> documents = new HashMap<>();
+
+    /** Ids written while a rebuild is scanning; the scan must not overwrite them with what it read earlier. */
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    /** Patches to ids the running rebuild has not reached yet, laid over the row once the scan reads it. */
+    private final Map<Long, Product> pendingPatches = new HashMap<>();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    private final ProductScanner scanner;
+
+    public ProductSearchIndex(ProductScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids on zero-based page {@code page} of the ranked matches for {@code query}.
+     */
+    public List<Long> search(String query, int page, int size) {
+        Set<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topK(scores, page, size);
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> exact = postings.get(token);
+        if (exact != null) {
+            scores.putAll(exact);
+        }
+        int expansions = 0;
+        for (Map<Long, Float> docs : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            // A document matching several completions of the prefix only counts its best one
+            docs.forEach((id, weight) -> scores.merge(id, weight * PREFIX_FACTOR, Math::max));
+        }
+        return scores;
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Float> larger = smaller == left ? right : left;
+        Map<Long, Float> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Float other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private static List<Long> topK(Map<Long, Float> scores, int page, int size) {
+        // In long: page and size come from the request, and their product can overflow an int
+        long offset = (long) page * size;
+        if (offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+        int k = (int) Math.min(offset + size, scores.size());
+        // Min-heap on relevance holding the best k matches seen so far
+        PriorityQueue<Map.Entry<Long, Float>> heap = new PriorityQueue<>(k + 1, BY_RELEVANCE.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(heap);
+        ranked.sort(BY_RELEVANCE);
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = (int) offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            index(product.getId(), withChanges(new String[Field.values().length][], product));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes only the text fields set in {@code changes}, reusing the stored terms of the others. Price-only
+     * patches do not touch the index.
+     */
+    public void patch(Long id, Product changes) {
+        if (changes.getName() == null && changes.getCategory() == null && changes.getDescription() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String[][] fields = documents.get(id);
+            if (fields != null) {
+                index(id, withChanges(fields.clone(), changes));
+            } else if (rebuilding) {
+                pendingPatches.merge(id, changes, ProductSearchIndex::overlay);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Long id, String[][] fields) {
+        unindex(id);
+        for (Field field : Field.values()) {
+            for (String term : fields[field.ordinal()]) {
+                postings.computeIfAbsent(term, t -> new HashMap<>()).merge(id, field.weight, Float::sum);
+            }
+        }
+        documents.put(id, fields);
+    }
+
+    /** Tokenizes the non-null text fields of {@code source} into {@code fields}; empty slots are always filled. */
+    private static String[][] withChanges(String[][] fields, Product source) {
+        setField(fields, Field.NAME, source.getName());
+        setField(fields, Field.CATEGORY, source.getCategory());
+        setField(fields, Field.DESCRIPTION, source.getDescription());
+        return fields;
+    }
+
+    private static void setField(String[][] fields, Field field, String text) {
+        if (text != null || fields[field.ordinal()] == null) {
+            fields[field.ordinal()] = Tokenizer.tokenize(text).toArray(String[]::new);
+        }
+    }
+
+    private static Product overlay(Product earlier, Product later) {
+        Product merged = new Product();
+        merged.setName(later.getName() != null ? later.getName() : earlier.getName());
+        merged.setCategory(later.getCategory() != null ? later.getCategory() : earlier.getCategory());
+        merged.setDescription(later.getDescription() != null ? later.getDescription() : earlier.getDescription());
+        return merged;
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(Long id) {
+        String[][] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (String[] terms : fields) {
+            for (String term : terms) {
+                Map<Long, Float> docs = postings.get(term);
+                if (docs != null && docs.remove(id) != null && docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void indexUnlessTouched(Product product) {
+        lock.writeLock().lock();
+        try {
+            // Checked under the lock: a concurrent event marks the id before it takes the lock to index
+            if (!touchedDuringRebuild.contains(product.getId())) {
+                String[][] fields = withChanges(new String[Field.values().length][], product);
+                Product pending = pendingPatches.remove(product.getId());
+                index(product.getId(), pending == null ? fields : withChanges(fields, pending));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // A patch only knows some fields, so it cannot stand in for the scan's copy of the row
+        if (rebuilding && event.getType() != ProductChangedEvent.Type.PATCHED) {
+            touchedDuringRebuild.add(event.getId());
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED -> index(event.getProduct());
+            case PATCHED -> patch(event.getId(), event.getProduct());
+            case DELETED -> remove(event.getId());
+        }
+    }
+
+    @Override
+    public String indexName() {
+        return "search";
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        ready = false;
+        rebuilding = true;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long indexed = scanner.forEach(this::indexUnlessTouched);
+            ready = true;
+            log.info("Search index built: {} products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            lock.writeLock().lock();
+            try {
+                pendingPatches.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.org.product_catalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.ProductSuggestion;
+import com.org.product_catalog.repo.ProductScanner;
+import com.org.product_catalog.warmup.InProcessIndex;
+
+/**
+ * Prefix trie of product names and categories for search-box suggestions. Each distinct name or category is one
+ * suggestion, ranked by how many products carry it; it is reachable from the start of every word in it, so
+ * {@code "run"} finds "Red Running Shoe".
+ * <p>
+ * Every node keeps the {@code catalog.suggest.max-results} best suggestions below it, so a lookup walks one node
+ * per prefix character and copies that list. The trie is {@value #MAX_DEPTH} characters deep at most; longer keys
+ * wait in the deepest node, and longer prefixes filter what is there. Counts follow {@link ProductChangedEvent}s,
+ * and only the nodes on the paths of a changed suggestion are touched.
+ */
+@Component
+public class ProductSuggestIndex implements InProcessIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestIndex.class);
+
+    /** Trie levels; below this depth the few keys sharing a prefix are filtered rather than given nodes. */
+    static final int MAX_DEPTH = 8;
+
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator.<Suggestion>comparingInt(s -> s.count)
+            .reversed()
+            .thenComparing(s -> s.key)
+            .thenComparing(s -> s.type);
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+
+    /** A distinct name or category and the number of products that carry it. */
+    private static final class Suggestion {
+        final ProductSuggestion.Type type;
+        final String key;
+        String text;
+        int count;
+
+        Suggestion(ProductSuggestion.Type type, String key, String text) {
+            this.type = type;
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /** A suggestion filed under the word of its key that starts at {@code offset}. */
+    private record Posting(Suggestion suggestion, int offset) {
+    }
+
+    private static final class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        /** Keys that end at this node, or every key below it at {@link #MAX_DEPTH}. */
+        List<Posting> postings;
+        Suggestion[] top = NONE;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = c;
+            newChildren[at] = node;
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && (postings == null || postings.isEmpty());
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Suggestion> names = new HashMap<>();
+    private final Map<String, Suggestion> categories = new HashMap<>();
+    /** product id -> its name and category suggestion, so a change can move the product off the old ones */
+    private final Map<Long, Suggestion[]> members = new HashMap<>();
+    private Node root = new Node();
+    private volatile boolean ready;
+
+    private final ProductScanner scanner;
+    private final int maxResults;
+
+    public ProductSuggestIndex(ProductScanner scanner, CatalogProperties properties) {
+        this.scanner = scanner;
+        this.maxResults = properties.getSuggest().getMaxResults();
+    }
+
+    /** Whether the startup build has finished; until then the trie holds only what changed since launch. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** The {@code limit} most popular names and categories with a word starting with {@code prefix}. */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix, false);
+        int k = Math.min(limit, maxResults);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < Math.min(key.length(), MAX_DEPTH); i++) {
+                node = node.child(key.charAt(i));
+                if (node == null) {
+                    return Collections.emptyList();
+                }
+            }
+            if (key.length() <= MAX_DEPTH) {
+                return toResults(Arrays.asList(node.top), k);
+            }
+            // Past the trie: the deepest node holds every key that shares its first MAX_DEPTH characters
+            Set<Suggestion> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Posting posting : node.postings) {
+                if (posting.suggestion.key.startsWith(key, posting.offset)) {
+                    matches.add(posting.suggestion);
+                }
+            }
+            List<Suggestion> ranked = new ArrayList<>(matches);
+            ranked.sort(BY_POPULARITY);
+            return toResults(ranked, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<ProductSuggestion> toResults(List<Suggestion> ranked, int k) {
+        List<ProductSuggestion> results = new ArrayList<>(Math.min(k, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < k; i++) {
+            Suggestion s = ranked.get(i);
+            results.add(new ProductSuggestion(s.text, s.type, s.count));
+        }
+        return results;
+    }
+
+    /**
+     * Lower-cased with runs of whitespace folded into one space. Keys are trimmed; a prefix keeps one trailing
+     * space, so {@code "red "} completes "red kettle" but not "redwood".
+     */
+    static String normalize(String text, boolean trimEnd) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+            } else {
+                if (space) {
+                    out.append(' ');
+                    space = false;
+                }
+                out.append(c);
+            }
+        }
+        if (space && !trimEnd) {
+            out.append(' ');
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            move(product.getId(), product.getName(), product.getCategory());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Applies the name and category set in {@code changes}; price-only patches do not touch the index. */
+    public void patch(Long id, Product changes) {
+        if (changes.getName() == null && changes.getCategory() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Suggestion[] current = members.get(id);
+            if (current != null) {
+                move(id, changes.getName() != null ? changes.getName() : textOf(current[0]),
+                        changes.getCategory() != null ? changes.getCategory() : textOf(current[1]));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Suggestion[] current = members.remove(id);
+            if (current != null) {
+                change(current[0], -1, null);
+                change(current[1], -1, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String textOf(Suggestion suggestion) {
+        return suggestion == null ? null : suggestion.text;
+    }
+
+    private void move(Long id, String name, String category) {
+        Suggestion newName = lookup(names, ProductSuggestion.Type.NAME, name);
+        Suggestion newCategory = lookup(categories, ProductSuggestion.Type.CATEGORY, category);
+        Suggestion[] old = members.put(id, new Suggestion[] {newName, newCategory});
+        reassign(old == null ? null : old[0], newName, name);
+        reassign(old == null ? null : old[1], newCategory, category);
+    }
+
+    private void reassign(Suggestion from, Suggestion to, String text) {
+        if (from == to) {
+            // Same suggestion, perhaps spelt differently: only the displayed text can change
+            if (to != null) {
+                to.text = text.strip();
+            }
+            return;
+        }
+        change(from, -1, null);
+        change(to, 1, text);
+    }
+
+    private static Suggestion lookup(Map<String, Suggestion> suggestions, ProductSuggestion.Type type, String text) {
+        String key = normalize(text, true);
+        return key.isEmpty() ? null : suggestions.computeIfAbsent(key, k -> new Suggestion(type, k, text.strip()));
+    }
+
+    /** Adjusts a suggestion's count, files or unfiles it in the trie, and repairs the top lists on its paths. */
+    private void change(Suggestion suggestion, int delta, String text) {
+        if (suggestion == null) {
+            return;
+        }
+        if (text != null) {
+            suggestion.text = text.strip();
+        }
+        suggestion.count += delta;
+        if (delta > 0) {
+            if (suggestion.count == delta) {
+                file(suggestion);
+            }
+            // A suggestion that gained products can only move up, so offering it along its paths is enough
+            for (Node node : pathNodes(suggestion)) {
+                offer(node, suggestion);
+            }
+            return;
+        }
+        if (suggestion.count <= 0) {
+            (suggestion.type == ProductSuggestion.Type.NAME ? names : categories).remove(suggestion.key);
+        }
+        // Deepest nodes first: a node's top list is rebuilt from its children's
+        List<Node> path = pathNodes(suggestion);
+        if (suggestion.count <= 0) {
+            unfile(suggestion);
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (contains(node.top, suggestion)) {
+                recompute(node);
+            }
+        }
+    }
+
+    /** Nodes on every path of {@code suggestion}, each once, ordered by depth. */
+    private List<Node> pathNodes(Suggestion suggestion) {
+        List<Set<Node>> byDepth = new ArrayList<>(MAX_DEPTH + 1);
+        for (int d = 0; d <= MAX_DEPTH; d++) {
+            byDepth.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        for (int offset : wordStarts(suggestion.key)) {
+            Node node = root;
+            byDepth.get(0).add(node);
+            int end = Math.min(suggestion.key.length(), offset + MAX_DEPTH);
+            for (int i = offset; i < end && node != null; i++) {
+                node = node.child(suggestion.key.charAt(i));
+                if (node != null) {
+                    byDepth.get(i - offset + 1).add(node);
+                }
+            }
+        }
+        List<Node> nodes = new ArrayList<>();
+        byDepth.forEach(nodes::addAll);
+        return nodes;
+    }
+
+    private void file(Suggestion suggestion) {
+        for (int offset : wordStarts(suggestion.key)) {
+            Node node = root;
+            int end = Math.min(suggestion.key.length(), offset + MAX_DEPTH);
+            for (int i = offset; i < end; i++) {
+                node = node.addChild(suggestion.key.charAt(i));
+            }
+            if (node.postings == null) {
+                node.postings = new ArrayList<>(1);
+            }
+            node.postings.add(new Posting(suggestion, offset));
+        }
+    }
+
+    private void unfile(Suggestion suggestion) {
+        for (int offset : wordStarts(suggestion.key)) {
+            int end = Math.min(suggestion.key.length(), offset + MAX_DEPTH);
+            Node[] path = new Node[end - offset + 1];
+            path[0] = root;
+            for (int i = offset; i < end && path[i - offset] != null; i++) {
+                path[i - offset + 1] = path[i - offset].child(suggestion.key.charAt(i));
+            }
+            Node last = path[path.length - 1];
+            if (last == null || last.postings == null) {
+                continue;
+            }
+            last.postings.removeIf(p -> p.suggestion == suggestion && p.offset == offset);
+            // Drop nodes that no longer lead anywhere
+            for (int depth = path.length - 1; depth > 0 && path[depth].isEmpty(); depth--) {
+                path[depth - 1].removeChild(suggestion.key.charAt(offset + depth - 1));
+            }
+        }
+    }
+
+    private static int[] wordStarts(String key) {
+        int count = 1;
+        for (int i = 1; i < key.length(); i++) {
+            if (key.charAt(i - 1) == ' ') {
+                count++;
+            }
+        }
+        int[] starts = new int[count];
+        int next = 1;
+        for (int i = 1; i < key.length(); i++) {
+            if (key.charAt(i - 1) == ' ') {
+                starts[next++] = i;
+            }
+        }
+        return starts;
+    }
+
+    private void offer(Node node, Suggestion suggestion) {
+        Suggestion[] top = node.top;
+        if (contains(top, suggestion)) {
+            Arrays.sort(top, BY_POPULARITY);
+            return;
+        }
+        if (top.length == maxResults && BY_POPULARITY.compare(suggestion, top[top.length - 1]) >= 0) {
+            return;
+        }
+        Suggestion[] updated = Arrays.copyOf(top, Math.min(top.length + 1, maxResults));
+        int at = top.length;
+        while (at > 0 && BY_POPULARITY.compare(suggestion, top[at - 1]) < 0) {
+            at--;
+        }
+        System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+        updated[at] = suggestion;
+        node.top = updated;
+    }
+
+    /** Rebuilds a node's top list from its own postings and its children's top lists. */
+    private void recompute(Node node) {
+        Set<Suggestion> candidates = new LinkedHashSet<>();
+        if (node.postings != null) {
+            node.postings.forEach(posting -> candidates.add(posting.suggestion));
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        node.top = candidates.stream().sorted(BY_POPULARITY).limit(maxResults).toArray(Suggestion[]::new);
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    private static boolean contains(Suggestion[] top, Suggestion suggestion) {
+        for (Suggestion s : top) {
+            if (s == suggestion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Order(ProductChangedEvent.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> put(event.getProduct());
+            case PATCHED -> patch(event.getId(), event.getProduct());
+            case DELETED -> remove(event.getId());
+        }
+    }
+
+    @Override
+    public String indexName() {
+        return "suggest";
+    }
+
+    /**
+     * Replaces the trie with one built from a full scan: counts first, then every suggestion is filed once and
+     * the top lists are filled bottom-up in a single pass. Writers are held off for the duration, as for the
+     * category facets, so no event is lost between the scan and the swap.
+     */
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            categories.clear();
+            members.clear();
+            root = new Node();
+            long scanned = scanner.forEach(product -> {
+                Suggestion name = lookup(names, ProductSuggestion.Type.NAME, product.getName());
+                Suggestion category = lookup(categories, ProductSuggestion.Type.CATEGORY, product.getCategory());
+                members.put(product.getId(), new Suggestion[] {name, category});
+                if (name != null) {
+                    name.count++;
+                }
+                if (category != null) {
+                    category.count++;
+                }
+            });
+            names.values().forEach(this::file);
+            categories.values().forEach(this::file);
+            recomputeAll(root);
+            ready = true;
+            log.info("Suggestion index built: {} products, {} names, {} categories in {} ms",
+                    scanned, names.size(), categories.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.org.product_catalog.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-cased alphanumeric terms. Used for both indexing and querying so the two always agree.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /** Distinct terms of {@code text} in first-seen order; empty for {@code null} or blank input. */
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -2,27 +2,125 @@ package com.org.product_catalog.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.model.BulkResponse;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.CursorPage;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFilter;
+import com.org.product_catalog.model.ProductSuggestion;
+import com.org.product_catalog.model.ProductSummary;
 
 
 public interface ProductService {
 
+	/** Products in id order, capped at {@code catalog.listing.max-unpaged-size} rows. */
 	List<Product> listAll();
 
+	/**
+	 * {@link #listAll()} as {@code view}: {@code Product.class} for entities, or {@link ProductSummary} to skip
+	 * loading descriptions. The other {@code view} overloads below work the same way.
+	 */
+	<T> List<T> listAll(Class<T> view);
+
+	/** Offset page {@code page} (zero-based); {@code size} falls back to the configured default when null. */
+	PageResponse<Product> listPage(int page, Integer size);
+
+	<T> PageResponse<T> listPage(int page, Integer size, Class<T> view);
+
+	/**
+	 * {@link #listPage(int, Integer, Class)} restricted to {@code filter}'s price range, in its order, in one query.
+	 * Totals are only counted when {@code filter} asks for them.
+	 */
+	<T> PageResponse<T> listPage(int page, Integer size, ProductFilter filter, Class<T> view);
+
+	/** Keyset page following {@code cursor}; a blank cursor starts from the first product. */
+	CursorPage<Product> listAfter(String cursor, Integer size);
+
+	<T> CursorPage<T> listAfter(String cursor, Integer size, Class<T> view);
+
+	/**
+	 * Pushes every product, in id order, to {@code sink} while scrolling the table, so memory stays flat
+	 * regardless of catalog size. Returns the number of products written.
+	 */
+	long exportAll(Consumer<Product> sink);
+
 	Optional<Product> getById(Long id);
 
 	Product create(Product product);
 
 	Optional<Product>  update(Long id, Product product);
 
+	/**
+	 * Like {@link #update(Long, Product)}, but only if the stored product is still at {@code expectedVersion};
+	 * otherwise throws {@link org.springframework.dao.OptimisticLockingFailureException}. A null version skips
+	 * the check.
+	 */
+	Optional<Product> update(Long id, Product product, Long expectedVersion);
+
+	/**
+	 * Changes only the non-null fields of {@code changes}, in one UPDATE without reading the product first.
+	 * Returns false if there is no product {@code id}. A non-null {@code expectedVersion} is checked as in
+	 * {@link #update(Long, Product, Long)}.
+	 */
+	boolean patch(Long id, Product changes, Long expectedVersion);
+
 	void delete(Long id);
 
+	/** Inserts all products in batches of {@code catalog.bulk.batch-size}; client-supplied ids are ignored. */
+	BulkResponse bulkCreate(List<Product> products);
+
+	/** Updates products by their {@code id}; unknown ids are reported as {@code NOT_FOUND}. */
+	BulkResponse bulkUpdate(List<Product> products);
+
+	BulkResponse bulkDelete(List<Long> ids);
+
+	/** First page of {@link #search(String, int, Integer)} at the default page size. */
 	List<Product> search(String q);
 
+	/**
+	 * Products whose name, category or description match every term of {@code q} (terms may be prefixes),
+	 * most relevant first, paged like {@link #listPage(int, Integer)}.
+	 */
+	List<Product> search(String q, int page, Integer size);
+
+	<T> List<T> search(String q, int page, Integer size, Class<T> view);
+
+	/**
+	 * Search matches within {@code filter}'s price range, most relevant first unless it asks for another order.
+	 * The range and order apply to the best {@code catalog.listing.max-search-matches} matches.
+	 */
+	<T> List<T> search(String q, int page, Integer size, ProductFilter filter, Class<T> view);
+
 	List<Product> findByCategory(String category);
 
+	<T> List<T> findByCategory(String category, Class<T> view);
+
+	/**
+	 * One page of {@link #findByCategory(String)} restricted to {@code filter}'s price range, in its order. Totals
+	 * are only counted when {@code filter} asks for them.
+	 */
+	<T> PageResponse<T> findByCategory(String category, int page, Integer size, ProductFilter filter, Class<T> view);
+
+	/**
+	 * Change log entries after sequence number {@code since} (0 for everything still in the log), at most
+	 * {@code limit} of them; {@code limit} falls back to {@code catalog.changes.batch-size} when null.
+	 */
+	ChangeBatch changesSince(long since, Integer limit);
+
+	/** Count and price range of every category, served from memory. */
+	List<CategorySummary> categorySummaries();
+
+	/**
+	 * The most popular product names and categories with a word starting with {@code prefix}, served from memory;
+	 * {@code limit} falls back to and is capped at {@code catalog.suggest.max-results}.
+	 */
+	List<ProductSuggestion> suggest(String prefix, Integer limit);
+
 }
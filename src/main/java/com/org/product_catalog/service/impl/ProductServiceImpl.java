@@ -1,39 +1,209 @@
 package com.org.product_catalog.service.impl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.org.product_catalog.cache.ProductCache;
+import com.org.product_catalog.changelog.ChangeLog;
+import com.org.product_catalog.coalesce.ReadCoalescer;
+import com.org.product_catalog.config.CatalogProperties;
 import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.exception.IndexNotReadyException;
+import com.org.product_catalog.facet.CategoryFacets;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.model.BulkResponse;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.CursorPage;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFilter;
+import com.org.product_catalog.model.ProductSuggestion;
+import com.org.product_catalog.model.ProductSummary;
+import com.org.product_catalog.replica.CatalogReplica;
 import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.repo.ProductScanner;
+import com.org.product_catalog.search.ProductSearchIndex;
+import com.org.product_catalog.search.ProductSuggestIndex;
 import com.org.product_catalog.service.ProductService;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    /** Retry-After for views still being built at startup; the builds take seconds even for large catalogs. */
+    private static final long WARMUP_RETRY_SECONDS = 5;
+
     private final ProductRepo repo;
+    private final ProductScanner scanner;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCache cache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final CategoryFacets facets;
+    private final ChangeLog changeLog;
+    private final CatalogReplica replica;
+    private final ReadCoalescer coalescer;
+    private final ApplicationEventPublisher events;
+    private final CatalogProperties.Listing listing;
+    private final CatalogProperties.Bulk bulk;
+    private final CatalogProperties.Suggest suggest;
 
-    public ProductServiceImpl(ProductRepo repo) {
+    public ProductServiceImpl(ProductRepo repo, ProductScanner scanner, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager, ProductCache cache,
+                              ProductSearchIndex searchIndex, ProductSuggestIndex suggestIndex,
+                              CategoryFacets facets, ChangeLog changeLog,
+                              CatalogReplica replica, ReadCoalescer coalescer,
+                              ApplicationEventPublisher events, CatalogProperties properties) {
         this.repo = repo;
+        this.scanner = scanner;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+        this.facets = facets;
+        this.changeLog = changeLog;
+        this.replica = replica;
+        this.coalescer = coalescer;
+        this.events = events;
+        this.listing = properties.getListing();
+        this.bulk = properties.getBulk();
+        this.suggest = properties.getSuggest();
     }
 
     @Override
     public List<Product> listAll() {
-        log.info("Fetching all products");
-        List<Product> products = repo.findAll();
+        return listAll(Product.class);
+    }
+
+    @Override
+    public <T> List<T> listAll(Class<T> view) {
+        log.info("Fetching all products as {} (capped at {})", view.getSimpleName(), listing.getMaxUnpagedSize());
+        List<T> products = repo.findAllByOrderByIdAsc(Limit.of(listing.getMaxUnpagedSize()), view);
         log.debug("Products found: {}", products.size());
         return products;
     }
 
+    @Override
+    public PageResponse<Product> listPage(int page, Integer size) {
+        return listPage(page, size, Product.class);
+    }
+
+    @Override
+    public <T> PageResponse<T> listPage(int page, Integer size, Class<T> view) {
+        Pageable pageable = pageRequest(page, size, ProductFilter.NONE);
+        log.info("Fetching product page={} size={} as {}", page, pageable.getPageSize(), view.getSimpleName());
+        return toPageResponse(repo.findBy(pageable, view));
+    }
+
+    @Override
+    public <T> PageResponse<T> listPage(int page, Integer size, ProductFilter filter, Class<T> view) {
+        Pageable pageable = pageRequest(page, size, filter);
+        log.info("Fetching product page={} size={} price=[{}, {}] sort={} as {}", page, pageable.getPageSize(),
+                filter.getMinPrice(), filter.getMaxPrice(), pageable.getSort(), view.getSimpleName());
+        Slice<T> result;
+        if (filter.isWithTotal()) {
+            result = filter.hasPriceRange()
+                    ? repo.findByPriceBetween(filter.lowerPrice(), filter.upperPrice(), pageable, view)
+                    : repo.findBy(pageable, view);
+        } else {
+            result = filter.hasPriceRange()
+                    ? repo.findSliceByPriceBetween(filter.lowerPrice(), filter.upperPrice(), pageable, view)
+                    : repo.findSliceBy(pageable, view);
+        }
+        return toPageResponse(result);
+    }
+
+    private Pageable pageRequest(int page, Integer size, ProductFilter filter) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative: " + page);
+        }
+        return PageRequest.of(page, resolvePageSize(size), filter.sort());
+    }
+
+    private static <T> PageResponse<T> toPageResponse(Slice<T> result) {
+        if (result instanceof Page<T> counted) {
+            return new PageResponse<>(counted.getContent(), counted.getNumber(), counted.getSize(),
+                    counted.getTotalElements(), counted.getTotalPages(), counted.hasNext());
+        }
+        return PageResponse.withoutTotals(result.getContent(), result.getNumber(), result.getSize(), result.hasNext());
+    }
+
+    @Override
+    public CursorPage<Product> listAfter(String cursor, Integer size) {
+        return listAfter(cursor, size, Product.class);
+    }
+
+    @Override
+    public <T> CursorPage<T> listAfter(String cursor, Integer size, Class<T> view) {
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageSize = resolvePageSize(size);
+        log.info("Fetching products after id={} size={} as {}", afterId, pageSize, view.getSimpleName());
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<T> rows = repo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1), view);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, pageSize, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, pageSize, CursorPage.encodeCursor(idOf(items.get(pageSize - 1))));
+    }
+
+    private static Long idOf(Object row) {
+        return row instanceof ProductSummary summary ? summary.getId() : ((Product) row).getId();
+    }
+
+    @Override
+    public long exportAll(Consumer<Product> sink) {
+        log.info("Exporting full catalog");
+        long count = scanner.forEach(sink);
+        log.debug("Exported products: {}", count);
+        return count;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return listing.getDefaultPageSize();
+        }
+        if (size < 1 || size > listing.getMaxPageSize()) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + listing.getMaxPageSize());
+        }
+        return size;
+    }
+
     @Override
     public Optional<Product> getById(Long id) {
         log.info("Fetching product by ID: {}", id);
-        Optional<Product> product = repo.findById(id);
+        // With the cache on, concurrent misses already share the cache's load and reach the coalescer once
+        Optional<Product> product = replica.isReady()
+                ? replica.get(id) : cache.get(id, key -> coalescer.getById(key, repo::findById));
         if (product.isPresent()) {
             log.debug("Product found: {}", product.get());
         } else {
@@ -44,47 +214,361 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Product create(Product p) {
-        log.info("Creating product: {}", p);
-        Product savedProduct = repo.save(p);
+        // Name and category only: the full entity would format a description of up to 2000 characters
+        log.info("Creating product: name={}, category={}", p.getName(), p.getCategory());
+        // Published inside the transaction so the change log entry commits with the row
+        Product savedProduct = transactionTemplate.execute(status -> {
+            Product saved = repo.save(p);
+            events.publishEvent(ProductChangedEvent.created(saved));
+            return saved;
+        });
         log.debug("Product created with ID: {}", savedProduct.getId());
         return savedProduct;
     }
 
     @Override
     public Optional<Product> update(Long id, Product p) {
-        log.info("Updating product with ID: {}", id);
-        return repo.findById(id).map(existing -> {
+        return update(id, p, null);
+    }
+
+    @Override
+    public Optional<Product> update(Long id, Product p, Long expectedVersion) {
+        log.info("Updating product with ID: {} (expected version {})", id, expectedVersion);
+        // Load and modify the managed entity in one transaction: the flush issues a single UPDATE ... WHERE
+        // version = ?, so a write that slips in after the check below still fails instead of being overwritten
+        return transactionTemplate.execute(status -> repo.findById(id).map(existing -> {
             log.debug("Existing product before update: {}", existing);
-            existing.setName(p.getName());
-            existing.setDescription(p.getDescription());
-            existing.setPrice(p.getPrice());
-            existing.setCategory(p.getCategory());
-            Product updatedProduct = repo.save(existing);
-            log.debug("Updated product: {}", updatedProduct);
-            return updatedProduct;
-        });
+            if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+                throw new OptimisticLockingFailureException("Product " + id + " is at version "
+                        + existing.getVersion() + ", not " + expectedVersion);
+            }
+            applyChanges(existing, p);
+            events.publishEvent(ProductChangedEvent.updated(existing));
+            log.debug("Updated product: {}", existing);
+            return existing;
+        }));
+    }
+
+    @Override
+    public boolean patch(Long id, Product changes, Long expectedVersion) {
+        if (changes.getName() == null && changes.getDescription() == null && changes.getPrice() == null
+                && changes.getCategory() == null) {
+            throw new IllegalArgumentException("Nothing to update: send at least one of name, description, price, category");
+        }
+        log.info("Patching product with ID: {} (expected version {})", id, expectedVersion);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            int updated = repo.patch(id, expectedVersion, changes.getName(), changes.getDescription(),
+                    changes.getPrice(), changes.getCategory(), Product.normalizeCategory(changes.getCategory()),
+                    Instant.now());
+            if (updated == 0) {
+                // Only the failure path pays for a second query, to tell a stale version from a missing row
+                if (expectedVersion != null && repo.existsById(id)) {
+                    throw new OptimisticLockingFailureException("Product " + id + " is not at version " + expectedVersion);
+                }
+                log.warn("No product found to patch with ID: {}", id);
+                return false;
+            }
+            events.publishEvent(ProductChangedEvent.patched(id, changes));
+            log.debug("Patched product {}: {}", id, changes);
+            return true;
+        }));
     }
 
     @Override
     public void delete(Long id) {
         log.info("Deleting product with ID: {}", id);
-        repo.deleteById(id);
-        log.debug("Product deleted with ID: {}", id);
+        boolean deleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (repo.removeById(id) == 0) {
+                return false;
+            }
+            events.publishEvent(ProductChangedEvent.deleted(id));
+            return true;
+        }));
+        log.debug(deleted ? "Product deleted with ID: {}" : "No product to delete with ID: {}", id);
+    }
+
+    private static void applyChanges(Product target, Product source) {
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+        target.setPrice(source.getPrice());
+        target.setCategory(source.getCategory());
+    }
+
+    @Override
+    public BulkResponse bulkCreate(List<Product> products) {
+        checkBulkSize(products.size());
+        log.info("Bulk creating {} products", products.size());
+        long start = System.nanoTime();
+        List<BulkItemResult> results = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += bulk.getBatchSize()) {
+            int to = Math.min(from + bulk.getBatchSize(), products.size());
+            List<Product> batch = products.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch.forEach(p -> p.setId(null));
+                    repo.saveAll(batch);
+                    batch.forEach(p -> events.publishEvent(ProductChangedEvent.created(p)));
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (int i = from; i < to; i++) {
+                    results.add(BulkItemResult.of(i, products.get(i).getId(), BulkItemResult.Status.CREATED));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Bulk create batch [{}, {}) rolled back", from, to, e);
+                for (int i = from; i < to; i++) {
+                    results.add(BulkItemResult.failed(i, null, e.getMessage()));
+                }
+            }
+        }
+        return finishBulk("create", results, start);
+    }
+
+    @Override
+    public BulkResponse bulkUpdate(List<Product> products) {
+        checkBulkSize(products.size());
+        log.info("Bulk updating {} products", products.size());
+        long start = System.nanoTime();
+        List<BulkItemResult> results = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += bulk.getBatchSize()) {
+            int to = Math.min(from + bulk.getBatchSize(), products.size());
+            int batchStart = from;
+            List<Product> batch = products.subList(from, to);
+            try {
+                List<BulkItemResult> batchResults = transactionTemplate.execute(status -> {
+                    Set<Long> ids = batch.stream().map(Product::getId)
+                            .filter(Objects::nonNull).collect(Collectors.toSet());
+                    // One SELECT per batch; the dirty entities are then written as batched UPDATEs on flush
+                    Map<Long, Product> existing = repo.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Product::getId, Function.identity()));
+                    List<BulkItemResult> outcome = new ArrayList<>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        Product change = batch.get(i);
+                        Product target = existing.get(change.getId());
+                        if (change.getId() == null) {
+                            outcome.add(BulkItemResult.failed(batchStart + i, null, "id is required"));
+                        } else if (target == null) {
+                            outcome.add(BulkItemResult.of(batchStart + i, change.getId(), BulkItemResult.Status.NOT_FOUND));
+                        } else {
+                            applyChanges(target, change);
+                            events.publishEvent(ProductChangedEvent.updated(target));
+                            outcome.add(BulkItemResult.of(batchStart + i, change.getId(), BulkItemResult.Status.UPDATED));
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return outcome;
+                });
+                results.addAll(batchResults);
+            } catch (RuntimeException e) {
+                log.warn("Bulk update batch [{}, {}) rolled back", from, to, e);
+                for (int i = from; i < to; i++) {
+                    results.add(BulkItemResult.failed(i, products.get(i).getId(), e.getMessage()));
+                }
+            }
+        }
+        return finishBulk("update", results, start);
+    }
+
+    @Override
+    public BulkResponse bulkDelete(List<Long> ids) {
+        checkBulkSize(ids.size());
+        log.info("Bulk deleting {} products", ids.size());
+        long start = System.nanoTime();
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += bulk.getBatchSize()) {
+            int to = Math.min(from + bulk.getBatchSize(), ids.size());
+            List<Long> batch = ids.subList(from, to);
+            try {
+                Set<Long> found = transactionTemplate.execute(status -> {
+                    Set<Long> existing = new HashSet<>(repo.findExistingIds(
+                            batch.stream().filter(Objects::nonNull).collect(Collectors.toSet())));
+                    if (!existing.isEmpty()) {
+                        repo.deleteAllByIdInBatch(existing);
+                        existing.forEach(id -> events.publishEvent(ProductChangedEvent.deleted(id)));
+                    }
+                    return existing;
+                });
+                for (int i = from; i < to; i++) {
+                    Long id = ids.get(i);
+                    if (id == null) {
+                        results.add(BulkItemResult.failed(i, null, "id is required"));
+                    } else {
+                        results.add(BulkItemResult.of(i, id, found.contains(id)
+                                ? BulkItemResult.Status.DELETED : BulkItemResult.Status.NOT_FOUND));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Bulk delete batch [{}, {}) rolled back", from, to, e);
+                for (int i = from; i < to; i++) {
+                    results.add(BulkItemResult.failed(i, ids.get(i), e.getMessage()));
+                }
+            }
+        }
+        return finishBulk("delete", results, start);
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > bulk.getMaxItems()) {
+            throw new IllegalArgumentException("Bulk request exceeds " + bulk.getMaxItems() + " items: " + size);
+        }
+    }
+
+    private BulkResponse finishBulk(String operation, List<BulkItemResult> results, long startNanos) {
+        BulkResponse response = new BulkResponse(results,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.debug("Bulk {} finished: succeeded={}, failed={}, took {} ms",
+                operation, response.getSucceeded(), response.getFailed(), response.getDurationMs());
+        return response;
     }
 
     @Override
     public List<Product> search(String q) {
-        log.info("Searching products by query: {}", q);
-        List<Product> results = repo.searchByNameOrCategory(q);
+        return search(q, 0, null);
+    }
+
+    @Override
+    public List<Product> search(String q, int page, Integer size) {
+        return search(q, page, size, Product.class);
+    }
+
+    @Override
+    public <T> List<T> search(String q, int page, Integer size, ProductFilter filter, Class<T> view) {
+        Pageable pageable = pageRequest(page, size, filter);
+        log.info("Searching products by query: {} (page={}, size={}, price=[{}, {}], sort={}) as {}", q, page,
+                pageable.getPageSize(), filter.getMinPrice(), filter.getMaxPrice(),
+                filter.isSorted() ? pageable.getSort() : "relevance", view.getSimpleName());
+        if (!searchIndex.isReady()) {
+            // Only while the index builds at startup: filter the unranked fallback in memory, in id order
+            log.debug("Search index still building, applying price range to a table scan");
+            List<Product> matches = repo.searchByNameOrCategory(q).stream()
+                    .filter(p -> !filter.hasPriceRange() || (p.getPrice() != null
+                            && p.getPrice() >= filter.lowerPrice() && p.getPrice() <= filter.upperPrice()))
+                    .toList();
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            return matches.subList(from, Math.min(from + pageable.getPageSize(), matches.size())).stream()
+                    .map(product -> as(product, view)).toList();
+        }
+        List<Long> ranked = searchIndex.search(q, 0, listing.getMaxSearchMatches());
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        List<T> results;
+        if (filter.isSorted()) {
+            // Range, order and page all in one query over the matched ids
+            results = filter.hasPriceRange()
+                    ? repo.findByIdInAndPriceBetween(ranked, filter.lowerPrice(), filter.upperPrice(), pageable, view)
+                    : repo.findByIdIn(ranked, pageable, view);
+        } else {
+            // Relevance order lives in the index: let the database pick the ids in range, then page in rank order
+            Set<Long> inRange = new HashSet<>(repo.findIdsInPriceRange(ranked, filter.lowerPrice(), filter.upperPrice()));
+            List<Long> ids = ranked.stream().filter(inRange::contains)
+                    .skip(pageable.getOffset()).limit(pageable.getPageSize()).toList();
+            results = inRankOrder(ids, ids.isEmpty() ? List.of() : repo.findByIdIn(ids, view));
+        }
+        log.debug("Search results count: {}", results.size());
+        return results;
+    }
+
+    private static <T> List<T> inRankOrder(List<Long> ids, List<T> rows) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(ProductServiceImpl::idOf, Function.identity()));
+        // Skip ids deleted since the index was read
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public <T> List<T> search(String q, int page, Integer size, Class<T> view) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative: " + page);
+        }
+        int pageSize = resolvePageSize(size);
+        log.info("Searching products by query: {} (page={}, size={}) as {}", q, page, pageSize, view.getSimpleName());
+        List<T> results;
+        if (searchIndex.isReady()) {
+            List<Long> ids = searchIndex.search(q, page, pageSize);
+            results = inRankOrder(ids, repo.findByIdIn(ids, view));
+        } else {
+            log.debug("Search index still building, falling back to a table scan");
+            List<Product> all = repo.searchByNameOrCategory(q);
+            int from = (int) Math.min((long) page * pageSize, all.size());
+            results = all.subList(from, Math.min(from + pageSize, all.size())).stream()
+                    .map(product -> as(product, view)).toList();
+        }
         log.debug("Search results count: {}", results.size());
         return results;
     }
 
+    private static <T> T as(Product product, Class<T> view) {
+        if (view == ProductSummary.class) {
+            return view.cast(new ProductSummary(product.getId(), product.getName(), product.getPrice(), product.getCategory()));
+        }
+        return view.cast(product);
+    }
+
     @Override
     public List<Product> findByCategory(String category) {
-        log.info("Fetching products by category: {}", category);
-        List<Product> results = repo.findByCategoryIgnoreCase(category);
+        return findByCategory(category, Product.class);
+    }
+
+    @Override
+    public <T> List<T> findByCategory(String category, Class<T> view) {
+        log.info("Fetching products by category: {} as {}", category, view.getSimpleName());
+        String key = Product.normalizeCategory(category);
+        List<T> results = replica.isReady()
+                ? replica.findByCategory(category, view)
+                : coalescer.findByCategory(key, view, () -> repo.findByCategoryKey(key, view));
         log.debug("Products found in category '{}': {}", category, results.size());
         return results;
     }
+
+    @Override
+    public <T> PageResponse<T> findByCategory(String category, int page, Integer size, ProductFilter filter, Class<T> view) {
+        Pageable pageable = pageRequest(page, size, filter);
+        log.info("Fetching products by category: {} (page={}, size={}, price=[{}, {}], sort={}) as {}", category, page,
+                pageable.getPageSize(), filter.getMinPrice(), filter.getMaxPrice(), pageable.getSort(), view.getSimpleName());
+        String key = Product.normalizeCategory(category);
+        Slice<T> result;
+        if (filter.isWithTotal()) {
+            result = filter.hasPriceRange()
+                    ? repo.findByCategoryKeyAndPriceBetween(key, filter.lowerPrice(), filter.upperPrice(), pageable, view)
+                    : repo.findByCategoryKey(key, pageable, view);
+        } else {
+            result = filter.hasPriceRange()
+                    ? repo.findSliceByCategoryKeyAndPriceBetween(key, filter.lowerPrice(), filter.upperPrice(), pageable, view)
+                    : repo.findSliceByCategoryKey(key, pageable, view);
+        }
+        return toPageResponse(result);
+    }
+
+    @Override
+    public ChangeBatch changesSince(long since, Integer limit) {
+        log.info("Fetching changes since seq={} (limit={})", since, limit);
+        ChangeBatch batch = changeLog.read(since, limit);
+        log.debug("Changes returned: {}, next since={}", batch.getChanges().size(), batch.getNextSince());
+        return batch;
+    }
+
+    @Override
+    public List<CategorySummary> categorySummaries() {
+        if (!facets.isReady()) {
+            throw new IndexNotReadyException("Category summaries are still being built", WARMUP_RETRY_SECONDS);
+        }
+        List<CategorySummary> summaries = facets.summaries();
+        log.debug("Category summaries: {}", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, Integer limit) {
+        int max = suggest.getMaxResults();
+        if (limit != null && (limit < 1 || limit > max)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + max);
+        }
+        if (!suggestIndex.isReady()) {
+            throw new IndexNotReadyException("Suggestions are still being built", WARMUP_RETRY_SECONDS);
+        }
+        List<ProductSuggestion> suggestions = suggestIndex.suggest(prefix, limit == null ? max : limit);
+        log.debug("Suggestions for prefix '{}': {}", prefix, suggestions.size());
+        return suggestions;
+    }
 }
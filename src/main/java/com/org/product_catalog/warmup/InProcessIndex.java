@@ -0,0 +1,14 @@
+package com.org.product_catalog.warmup;
+
+/**
+ * An in-memory structure derived from the product table and kept current from change events afterwards. Every
+ * such index is built once the application is ready, by {@link IndexWarmup}, alongside the others.
+ */
+public interface InProcessIndex {
+
+    /** Short name for logs and the {@code index} tag of {@code catalog.warmup.time}. */
+    String indexName();
+
+    /** Replaces the contents with a full scan of the product table; safe to call while writes go on. */
+    void rebuild();
+}
@@ -0,0 +1,107 @@
+package com.org.product_catalog.warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.org.product_catalog.cache.CatalogVersion;
+import com.org.product_catalog.config.CatalogProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Builds every {@link InProcessIndex} once the application is ready, each on its own thread with its own
+ * scan, so startup waits for the slowest index rather than for all of them in turn. The ready event is not
+ * handed on until all are built, and a failed build fails startup as it did when each index listened for
+ * the event itself.
+ * <p>
+ * The server takes requests before the ready event, so collection responses handed out meanwhile may come from
+ * views that were still empty. Once every index is built the {@link CatalogVersion} is advanced, which retires
+ * their ETags and any {@code ResponseCache} entries rendered under them.
+ * <p>
+ * Each build is timed in {@code catalog.warmup.time} (tagged {@code index}); {@code catalog.startup.time} is the
+ * time from launch until the indexes were built, i.e. until the service answers from memory. Spring Boot's own
+ * {@code application.ready.time} stops before the build starts.
+ */
+@Component
+public class IndexWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexWarmup.class);
+
+    private final List<InProcessIndex> indexes;
+    private final boolean parallel;
+    private final MeterRegistry registry;
+    private final CatalogVersion catalogVersion;
+    private final AtomicLong startupMillis = new AtomicLong();
+
+    public IndexWarmup(List<InProcessIndex> indexes, CatalogProperties properties, MeterRegistry registry,
+                       CatalogVersion catalogVersion) {
+        this.indexes = indexes;
+        this.parallel = properties.getWarmup().isParallel();
+        this.registry = registry;
+        this.catalogVersion = catalogVersion;
+        TimeGauge.builder("catalog.startup.time", startupMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from launch until the in-process indexes were built")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        if (parallel && indexes.size() > 1) {
+            buildInParallel();
+        } else {
+            indexes.forEach(this::build);
+        }
+        catalogVersion.advance();
+        Duration warmup = Duration.ofNanos(System.nanoTime() - start);
+        Duration startup = event.getTimeTaken() == null ? warmup : event.getTimeTaken().plus(warmup);
+        startupMillis.set(startup.toMillis());
+        log.info("Built {} in-process indexes in {} ms; started in {} ms",
+                indexes.size(), warmup.toMillis(), startup.toMillis());
+    }
+
+    private void buildInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(indexes.size(),
+                new CustomizableThreadFactory("index-warmup-"));
+        try {
+            List<Future<?>> builds = new ArrayList<>(indexes.size());
+            for (InProcessIndex index : indexes) {
+                builds.add(executor.submit(() -> build(index)));
+            }
+            for (Future<?> build : builds) {
+                build.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building in-process indexes", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void build(InProcessIndex index) {
+        Timer.builder("catalog.warmup.time")
+                .tag("index", index.indexName())
+                .description("Time taken to build an in-process index at startup")
+                .register(registry)
+                .record(index::rebuild);
+    }
+}
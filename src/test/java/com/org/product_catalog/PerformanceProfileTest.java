@@ -0,0 +1,59 @@
+package com.org.product_catalog;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.metrics.ConnectionPoolHealthIndicator;
+import com.org.product_catalog.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The {@code performance} profile tunes the pool and JPA without changing behaviour, and exposes pool health. */
+class PerformanceProfileTest {
+
+    @Test
+    void tunedPoolServesWritesAndReportsSaturation() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--spring.profiles.active=performance", "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:performance-profile")) {
+            assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+
+            ProductService service = context.getBean(ProductService.class);
+            Product lamp = new Product();
+            lamp.setName("Brass desk lamp");
+            lamp.setCategory("Lighting");
+            lamp.setPrice(49.0);
+            Long id = service.create(lamp).getId();
+            service.patch(id, priceOnly(39.0), null);
+            assertEquals(39.0, service.getById(id).orElseThrow().getPrice());
+
+            HikariDataSource pool = (HikariDataSource) context.getBean(DataSource.class);
+            assertFalse(pool.isAutoCommit());
+            assertEquals("64", new JdbcTemplate(pool).queryForObject(
+                    "select setting_value from information_schema.settings where setting_name = 'QUERY_CACHE_SIZE'",
+                    String.class));
+
+            Health health = context.getBean(ConnectionPoolHealthIndicator.class).health();
+            assertEquals("UP", health.getStatus().getCode());
+            assertEquals(20, health.getDetails().get("max"));
+            assertNotNull(context.getBean(MeterRegistry.class).find("hikaricp.connections.pending")
+                    .tag("pool", "catalog").gauge());
+        }
+    }
+
+    private static Product priceOnly(double price) {
+        Product changes = new Product();
+        changes.setPrice(price);
+        return changes;
+    }
+}
@@ -0,0 +1,99 @@
+package com.org.product_catalog;
+
+import com.org.product_catalog.changelog.ChangeLog;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.exception.ChangesExpiredException;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The {@code persistent} profile keeps the catalog across restarts and rebuilds the indexes from it. */
+class PersistentStorageTest {
+
+    @TempDir
+    Path storage;
+
+    private ConfigurableApplicationContext start(String... args) {
+        String[] common = {"--spring.profiles.active=persistent",
+                "--catalog.storage.path=" + storage.resolve("productdb"),
+                "--catalog.replica.enabled=true"};
+        return new SpringApplicationBuilder(ProductCatalogApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(Stream.concat(Arrays.stream(common), Arrays.stream(args)).toArray(String[]::new));
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("Lighting");
+        product.setPrice(10.0);
+        return product;
+    }
+
+    @Test
+    void catalogAndIndexesSurviveARestart() {
+        Long id;
+        try (ConfigurableApplicationContext context = start()) {
+            Product lamp = new Product();
+            lamp.setName("Brass desk lamp");
+            lamp.setCategory("Lighting");
+            lamp.setPrice(49.0);
+            id = context.getBean(ProductService.class).create(lamp).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            ProductService service = context.getBean(ProductService.class);
+            assertEquals("Brass desk lamp", service.getById(id).orElseThrow().getName());
+            assertEquals(List.of(id), service.search("brass", 0, 10).stream().map(Product::getId).toList());
+            CategorySummary lighting = service.categorySummaries().get(0);
+            assertEquals("Lighting", lighting.getCategory());
+            assertEquals(1, lighting.getCount());
+            assertEquals(1, service.findByCategory("lighting").size());
+            assertTrue(context.getBean(MeterRegistry.class).get("catalog.startup.time").timeGauge()
+                    .value(TimeUnit.MILLISECONDS) > 0);
+        }
+    }
+
+    @Test
+    void changeSequenceAndHorizonSurviveCompactingTheNewestEntry() {
+        long seen;
+        // A negative retention expires delete entries as soon as they are written
+        try (ConfigurableApplicationContext context = start("--catalog.changes.tombstone-retention=-PT1S")) {
+            ProductService service = context.getBean(ProductService.class);
+            ChangeLog changeLog = context.getBean(ChangeLog.class);
+            service.create(product("Floor lamp"));
+            Long shade = service.create(product("Lamp shade")).getId();
+            service.delete(shade);
+            seen = changeLog.read(0, null).getNextSince();
+
+            changeLog.compact();
+            // Only the floor lamp's entry is left, below the delete that was the newest entry
+            assertTrue(changeLog.read(0, null).getNextSince() < seen);
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            ChangeLog changeLog = context.getBean(ChangeLog.class);
+            Long bulb = context.getBean(ProductService.class).create(product("Bulb")).getId();
+
+            ChangeBatch batch = changeLog.read(seen, null);
+            assertEquals(1, batch.getChanges().size());
+            assertEquals(bulb, batch.getChanges().get(0).getProductId());
+            assertTrue(batch.getNextSince() > seen);
+            assertThrows(ChangesExpiredException.class, () -> changeLog.read(1, null));
+        }
+    }
+}
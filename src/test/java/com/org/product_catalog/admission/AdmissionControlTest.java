@@ -0,0 +1,94 @@
+package com.org.product_catalog.admission;
+
+import com.org.product_catalog.admission.AdmissionControl.EndpointClass;
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.exception.AdmissionRejectedException;
+import com.org.product_catalog.metrics.EndpointMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdmissionControl admission(int writeRate, int writeBurst, int writeConcurrent) {
+        CatalogProperties properties = new CatalogProperties();
+        CatalogProperties.Budget write = properties.getAdmission().getWrite();
+        write.setRatePerSecond(writeRate);
+        write.setBurst(writeBurst);
+        write.setMaxConcurrent(writeConcurrent);
+        return new AdmissionControl(properties, new EndpointMetricsService(registry));
+    }
+
+    private double shed(String reason) {
+        return registry.get("endpoint.shed.count").tag("class", "write").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void tokenBucketAllowsABurstThenRefillsAtTheRate() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+
+        // One token back every 100 ms, never more than the burst
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.tryAcquire(SECOND / 10) > 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(10 * SECOND));
+        }
+        assertTrue(bucket.tryAcquire(10 * SECOND) > 0);
+    }
+
+    @Test
+    void countersAreRegisteredUpFront() {
+        admission(1, 1, 1);
+
+        // Resolved when the budgets are built, so admitting or shedding a call never goes back to the registry
+        assertEquals(2, registry.find("endpoint.admitted.count").counters().size());
+        assertEquals(4, registry.find("endpoint.shed.count").counters().size());
+        assertNotNull(registry.find("endpoint.shed.count").tag("class", "search").tag("reason", "rate").counter());
+    }
+
+    @Test
+    void eachClientHasItsOwnRateBudget() {
+        AdmissionControl admission = admission(1, 2, 100);
+        for (int i = 0; i < 2; i++) {
+            admission.admit(EndpointClass.WRITE, "importer");
+            admission.release(EndpointClass.WRITE);
+        }
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit(EndpointClass.WRITE, "importer"));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(0, admission.inFlight(EndpointClass.WRITE));
+
+        admission.admit(EndpointClass.WRITE, "storefront");
+        admission.admit(EndpointClass.SEARCH, "importer");
+        assertEquals(3.0, registry.get("endpoint.admitted.count").tag("class", "write").counter().count());
+        assertEquals(1.0, registry.get("endpoint.admitted.count").tag("class", "search").counter().count());
+        assertEquals(1.0, shed("rate"));
+    }
+
+    @Test
+    void callsInProgressAreCappedPerClass() {
+        AdmissionControl admission = admission(1000, 1000, 2);
+        admission.admit(EndpointClass.WRITE, "a");
+        admission.admit(EndpointClass.WRITE, "b");
+
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(EndpointClass.WRITE, "c"));
+        assertEquals(1.0, shed("concurrency"));
+
+        admission.release(EndpointClass.WRITE);
+        admission.admit(EndpointClass.WRITE, "c");
+        assertEquals(2, admission.inFlight(EndpointClass.WRITE));
+    }
+}
@@ -0,0 +1,74 @@
+package com.org.product_catalog.admission;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "catalog.admission.write.rate-per-second=0.5",
+        "catalog.admission.write.burst=2"
+})
+@AutoConfigureMockMvc
+class AdmissionInterceptorTest {
+
+    private static final String LAMP = "{\"name\":\"Lamp\",\"price\":10.0,\"category\":\"Lighting\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControl admission;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @Test
+    void writesOverTheClientBudgetGet429AndReadsAreUnaffected() throws Exception {
+        Product saved = new Product();
+        saved.setId(1L);
+        Mockito.when(productService.create(any())).thenReturn(saved);
+        Mockito.when(productService.getById(1L)).thenReturn(Optional.of(saved));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/products").header("X-Client-Id", "importer")
+                    .contentType(MediaType.APPLICATION_JSON).content(LAMP)).andExpect(status().isCreated());
+        }
+        mockMvc.perform(post("/products").header("X-Client-Id", "importer")
+                        .contentType(MediaType.APPLICATION_JSON).content(LAMP))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(post("/products").header("X-Client-Id", "storefront")
+                .contentType(MediaType.APPLICATION_JSON).content(LAMP)).andExpect(status().isCreated());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/products/1").header("X-Client-Id", "importer")).andExpect(status().isOk());
+        }
+
+        Mockito.verify(productService, Mockito.times(3)).create(any());
+        assertEquals(0, admission.inFlight(AdmissionControl.EndpointClass.WRITE));
+        assertEquals(1.0, registry.get("endpoint.shed.count").tag("class", "write").tag("reason", "rate")
+                .counter().count());
+    }
+}
@@ -0,0 +1,84 @@
+package com.org.product_catalog.cache;
+
+import com.org.product_catalog.coalesce.ReadCoalescer;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.facet.CategoryFacets;
+import com.org.product_catalog.replica.CatalogReplica;
+import com.org.product_catalog.search.ProductSearchIndex;
+import com.org.product_catalog.search.ProductSuggestIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A committed change must reach every in-process view before {@link CatalogVersion} hands out the tag that
+ * covers it; otherwise a request in between renders old data under the new tag and is then answered 304.
+ */
+@SpringBootTest
+class CatalogVersionOrderingTest {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private ProductCache productCache;
+
+    @MockitoSpyBean
+    private CategoryFacets categoryFacets;
+
+    @MockitoSpyBean
+    private ProductSearchIndex searchIndex;
+
+    @MockitoSpyBean
+    private ProductSuggestIndex suggestIndex;
+
+    @MockitoSpyBean
+    private ReadCoalescer readCoalescer;
+
+    @MockitoSpyBean
+    private CatalogReplica replica;
+
+    @Test
+    void viewsApplyAChangeBeforeTheCatalogVersionMoves() {
+        Map<String, String> seen = new ConcurrentHashMap<>();
+        recordVersion("productCache", productCache, seen).onProductChanged(any());
+        recordVersion("categoryFacets", categoryFacets, seen).onProductChanged(any());
+        recordVersion("searchIndex", searchIndex, seen).onProductChanged(any());
+        recordVersion("suggestIndex", suggestIndex, seen).onProductChanged(any());
+        recordVersion("readCoalescer", readCoalescer, seen).onProductChanged(any());
+        recordVersion("replica", replica, seen).onProductChanged(any());
+
+        String before = catalogVersion.etag();
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> events.publishEvent(ProductChangedEvent.deleted(999_999L)));
+
+        assertNotEquals(before, catalogVersion.etag());
+        assertEquals(6, seen.size(), seen::toString);
+        seen.forEach((view, etag) -> assertEquals(before, etag, view + " ran after the version was bumped"));
+    }
+
+    /** Stubs the next call on {@code spy} to note the catalog tag it ran under, then run the real method. */
+    private <T> T recordVersion(String view, T spy, Map<String, String> seen) {
+        return Mockito.doAnswer(invocation -> {
+            seen.put(view, catalogVersion.etag());
+            return invocation.callRealMethod();
+        }).when(spy);
+    }
+}
@@ -0,0 +1,86 @@
+package com.org.product_catalog.cache;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(new CatalogProperties(), new SimpleMeterRegistry());
+    }
+
+    private static Product product(Long id, String name) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        return p;
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<Product>> first = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            loaderEntered.countDown();
+            await(release);
+            return Optional.of(product(id, "Loaded"));
+        }));
+        assertTrue(loaderEntered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Product>> second = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }));
+        release.countDown();
+
+        assertEquals("Loaded", first.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+        assertEquals("Loaded", second.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void writeDuringLoadIsNotOverwrittenByTheOlderRead() {
+        Optional<Product> returned = cache.get(1L, id -> {
+            // The write commits while this (older) read is still in flight
+            cache.onProductChanged(ProductChangedEvent.updated(product(id, "Fresh")));
+            return Optional.of(product(id, "Stale"));
+        });
+
+        assertEquals("Stale", returned.orElseThrow().getName());
+        assertEquals("Fresh", cache.get(1L, id -> Optional.empty()).orElseThrow().getName());
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, id -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertEquals("Recovered", cache.get(1L, id -> Optional.of(product(id, "Recovered"))).orElseThrow().getName());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.org.product_catalog.cache;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.metrics.EndpointMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private ResponseCache cache;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(new CatalogProperties(), registry);
+        filter = new ResponseCacheFilter(cache, catalogVersion, new EndpointMetricsService(registry));
+    }
+
+    private MockHttpServletResponse get(String path, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+        return response;
+    }
+
+    private static FilterChain rendering(String body, Runnable whileRendering) {
+        return (request, response) -> {
+            whileRendering.run();
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+        };
+    }
+
+    @Test
+    void entriesBelongToTheVersionTheyWereRenderedAt() {
+        byte[] body = "{\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+        ResponseCache.CachedResponse stored = cache.put("\"a-1\"", 1000L, "/products", "application/json", body);
+
+        assertSame(stored, cache.get("\"a-1\"", "/products"));
+        assertEquals("\"a-1\"", stored.etag());
+        assertNull(cache.get("\"a-2\"", "/products"));
+        assertNull(cache.get("\"a-1\"", "/products?size=5"));
+
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        assertNull(cache.get("\"a-1\"", "/products"));
+    }
+
+    @Test
+    void bodiesRenderedWhileTheVersionMovedAreNotKept() throws Exception {
+        String before = catalogVersion.etag();
+        MockHttpServletResponse response = get("/products",
+                rendering("{\"data\":[]}", () -> catalogVersion.onProductChanged(ProductChangedEvent.deleted(1L))));
+
+        assertEquals("{\"data\":[]}", response.getContentAsString());
+        assertNull(cache.get(before, "/products"));
+        assertNull(cache.get(catalogVersion.etag(), "/products"));
+
+        get("/products", rendering("{\"data\":[1]}", () -> { }));
+        assertNotNull(cache.get(catalogVersion.etag(), "/products"));
+    }
+
+    @Test
+    void hitsAreCountedAndTimed() throws Exception {
+        get("/products", rendering("{\"data\":[]}", () -> { }));
+        MockHttpServletResponse hit = get("/products", (request, response) -> fail("served from the cache"));
+
+        assertEquals("{\"data\":[]}", hit.getContentAsString());
+        assertEquals(1, registry.get("endpoint.latency").tag("endpoint", "GET /products").timer().count());
+        assertEquals(1, registry.get("endpoint.success.count").tag("endpoint", "GET /products").counter().count());
+    }
+
+    @Test
+    void onlyLargeBodiesGetAGzipCopy() throws Exception {
+        byte[] small = "{\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+        byte[] large = "{\"name\":\"Lamp\"},".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+        assertNull(cache.put("v", 0L, "/small", "application/json", small).gzipBody());
+        byte[] gzipped = cache.put("v", 0L, "/large", "application/json", large).gzipBody();
+        assertTrue(gzipped.length < large.length / 10);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertArrayEquals(large, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void gzipIsNegotiatedFromAcceptEncoding() {
+        assertTrue(ResponseCacheFilter.acceptsGzip("gzip"));
+        assertTrue(ResponseCacheFilter.acceptsGzip("br, GZIP;q=0.5"));
+        assertTrue(ResponseCacheFilter.acceptsGzip("*"));
+        assertFalse(ResponseCacheFilter.acceptsGzip(null));
+        assertFalse(ResponseCacheFilter.acceptsGzip("br, deflate"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("identity, gzip; q=0.0"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.org.product_catalog.coalesce;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry registry;
+    private SingleFlight<String, String> flight;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        flight = new SingleFlight<>("test", registry);
+    }
+
+    private double calls(String outcome) {
+        return registry.get("catalog.coalescing.calls").tag("operation", "test").tag("outcome", outcome).counter().count();
+    }
+
+    /** A call that signals when it starts and then blocks until released. */
+    private static Supplier<String> blocking(CountDownLatch entered, CountDownLatch release, AtomicInteger runs,
+                                             Supplier<String> result) {
+        return () -> {
+            runs.incrementAndGet();
+            entered.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return result.get();
+        };
+    }
+
+    /** Waits until {@code waiters} callers are parked on the flight for a key; they show up as coalesced calls. */
+    private void awaitCoalesced(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("coalesced") < waiters) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void concurrentCallsForAKeyShareOneRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> call = blocking(entered, release, runs, () -> "lamp");
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.run("1", call));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flight.run("1", call));
+        CompletableFuture<String> third = CompletableFuture.supplyAsync(() -> flight.run("1", call));
+        awaitCoalesced(2);
+        assertEquals("desk", flight.run("2", () -> "desk"));
+        release.countDown();
+
+        assertEquals("lamp", first.get(5, TimeUnit.SECONDS));
+        assertEquals("lamp", second.get(5, TimeUnit.SECONDS));
+        assertEquals("lamp", third.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals(2.0, calls("executed"));
+
+        // Nothing is kept once the run is over
+        assertEquals("lamp again", flight.run("1", () -> "lamp again"));
+    }
+
+    @Test
+    void failuresReachEveryWaiterAndTheNextCallRunsAgain() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> failing = blocking(entered, release, new AtomicInteger(), () -> {
+            throw new IllegalStateException("database down");
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.run("1", failing));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flight.run("1", () -> "unused"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (CompletableFuture<String> caller : List.of(first, second)) {
+            Exception e = assertThrows(Exception.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals("recovered", flight.run("1", () -> "recovered"));
+    }
+
+    @Test
+    void forgottenKeysStartANewRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(
+                () -> flight.run("1", blocking(entered, release, runs, () -> "before write")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        flight.forget("1");
+
+        assertEquals("after write", flight.run("1", () -> "after write"));
+        release.countDown();
+        assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, calls("coalesced"));
+    }
+}
@@ -1,29 +1,58 @@
 package com.org.product_catalog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.org.product_catalog.cache.ResponseCache;
 import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.exception.ChangesExpiredException;
+import com.org.product_catalog.exception.IndexNotReadyException;
 import com.org.product_catalog.metrics.EndpointMetricsService;
 import com.org.product_catalog.model.ApiResponseModel;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.model.BulkResponse;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.ChangeEntry;
+import com.org.product_catalog.model.CursorPage;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFilter;
+import com.org.product_catalog.model.ProductSuggestion;
+import com.org.product_catalog.model.ProductSummary;
 import com.org.product_catalog.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -35,17 +64,30 @@ class ProductControllerIntegrationTest {
     @MockitoBean
     private ProductService productService;
 
-    @MockitoBean
+    // Admission control resolves its counters from this mock at startup, so hand back stubs rather than null
+    @MockitoBean(answers = Answers.RETURNS_MOCKS)
     private EndpointMetricsService metricsService;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Product product1;
     private Product product2;
 
     @BeforeEach
     void setUp() {
+        // The mocked service publishes no changes, so responses cached by an earlier test would still be current
+        responseCache.clear();
+
         product1 = new Product();
         product1.setId(1L);
         product1.setName("Product A");
@@ -71,6 +113,88 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.data[0].name", is("Product A")));
     }
 
+    @Test
+    void testGetProductsPage() throws Exception {
+        PageResponse<Product> page = new PageResponse<>(Arrays.asList(product1, product2), 0, 2, 5, 3, true);
+        Mockito.when(productService.listPage(0, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/products").param("page", "0").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.totalElements", is(5)))
+                .andExpect(jsonPath("$.data.hasNext", is(true)));
+    }
+
+    @Test
+    void testGetProductsByCursor() throws Exception {
+        String next = CursorPage.encodeCursor(2L);
+        Mockito.when(productService.listAfter("", 2))
+                .thenReturn(new CursorPage<>(Arrays.asList(product1, product2), 2, next));
+
+        mockMvc.perform(get("/products").param("cursor", "").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[1].name", is("Product B")))
+                .andExpect(jsonPath("$.data.nextCursor", is(next)));
+    }
+
+    @Test
+    void testGetProductsByInvalidCursor() throws Exception {
+        Mockito.when(productService.listAfter("bogus", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bogus"));
+
+        mockMvc.perform(get("/products").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void testExportProductsAsNdjson() throws Exception {
+        Mockito.when(productService.exportAll(any())).thenAnswer(invocation -> {
+            Consumer<Product> sink = invocation.getArgument(0);
+            sink.accept(product1);
+            sink.accept(product2);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertTrue(body.endsWith("}\n"));
+    }
+
+    @Test
+    void testFieldsSelectsProjectionAndProperties() throws Exception {
+        Mockito.when(productService.listAll(ProductSummary.class))
+                .thenReturn(List.of(new ProductSummary(1L, "Product A", 10.0, "Category1")));
+
+        mockMvc.perform(get("/products").param("fields", "name,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id", is(1)))
+                .andExpect(jsonPath("$.data[0].name", is("Product A")))
+                .andExpect(jsonPath("$.data[0].price", is(10.0)))
+                .andExpect(jsonPath("$.data[0].category").doesNotExist())
+                .andExpect(jsonPath("$.data[0].description").doesNotExist());
+
+        product1.setDescription("Long text");
+        Mockito.when(productService.findByCategory("Category1", Product.class)).thenReturn(List.of(product1));
+        mockMvc.perform(get("/products/category/{category}", "Category1").param("fields", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description", is("Long text")))
+                .andExpect(jsonPath("$.data[0].name").doesNotExist());
+
+        mockMvc.perform(get("/products").param("fields", "name,colour"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
     @Test
     void testGetProductById() throws Exception {
         Mockito.when(productService.getById(1L)).thenReturn(Optional.of(product1));
@@ -118,6 +242,86 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Product not found")));
     }
 
+    @Test
+    void testGetProductByIdAnswersIfNoneMatchWith304() throws Exception {
+        product1.setVersion(3L);
+        Mockito.when(productService.getById(1L)).thenReturn(Optional.of(product1));
+
+        mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testCollectionEtagSkipsServiceWhileCatalogUnchanged() throws Exception {
+        Mockito.when(productService.listAll()).thenReturn(Arrays.asList(product1, product2));
+
+        String etag = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(productService, Mockito.times(1)).listAll();
+    }
+
+    @Test
+    void testUpdateProductWithIfMatch() throws Exception {
+        product1.setVersion(4L);
+        Mockito.when(productService.update(eq(1L), any(Product.class), eq(3L))).thenReturn(Optional.of(product1));
+
+        mockMvc.perform(put("/products/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(product1)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void testUpdateProductWithStaleIfMatch() throws Exception {
+        Mockito.when(productService.update(eq(1L), any(Product.class), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("Product 1 is at version 3, not 2"));
+
+        mockMvc.perform(put("/products/{id}", 1L)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(product1)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.success", is(false)));
+
+        mockMvc.perform(put("/products/{id}", 1L)
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(product1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchProduct() throws Exception {
+        Mockito.when(productService.patch(eq(1L), any(Product.class), eq(3L))).thenReturn(true);
+
+        mockMvc.perform(patch("/products/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 12.5}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.success", is(true)));
+
+        mockMvc.perform(patch("/products/{id}", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 12.5}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Product not found")));
+    }
+
     @Test
     void testDeleteProduct() throws Exception {
         mockMvc.perform(delete("/products/{id}", 1L))
@@ -126,9 +330,25 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("Product deleted successfully")));
     }
 
+    @Test
+    void testBulkCreateProducts() throws Exception {
+        BulkResponse response = new BulkResponse(Arrays.asList(
+                BulkItemResult.of(0, 1L, BulkItemResult.Status.CREATED),
+                BulkItemResult.failed(1, null, "boom")), 5);
+        Mockito.when(productService.bulkCreate(any())).thenReturn(response);
+
+        mockMvc.perform(post("/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(product1, product2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded", is(1)))
+                .andExpect(jsonPath("$.data.failed", is(1)))
+                .andExpect(jsonPath("$.data.items[0].status", is("CREATED")));
+    }
+
     @Test
     void testSearchProducts() throws Exception {
-        Mockito.when(productService.search("Prod")).thenReturn(Arrays.asList(product1));
+        Mockito.when(productService.search("Prod", 0, null)).thenReturn(Arrays.asList(product1));
 
         mockMvc.perform(get("/products/search").param("query", "Prod"))
                 .andExpect(status().isOk())
@@ -136,6 +356,81 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.data[0].name", is("Product A")));
     }
 
+    @Test
+    void testSuggestProducts() throws Exception {
+        Mockito.when(productService.suggest("cat", 5)).thenReturn(List.of(
+                new ProductSuggestion("Category1", ProductSuggestion.Type.CATEGORY, 2),
+                new ProductSuggestion("Cat Bed", ProductSuggestion.Type.NAME, 1)));
+
+        mockMvc.perform(get("/products/suggest").param("prefix", "cat").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text", is("Category1")))
+                .andExpect(jsonPath("$.data[0].type", is("CATEGORY")))
+                .andExpect(jsonPath("$.data[0].count", is(2)))
+                .andExpect(jsonPath("$.data[1].type", is("NAME")));
+    }
+
+    @Test
+    void testViewsStillBuildingAnswerServiceUnavailable() throws Exception {
+        Mockito.when(productService.categorySummaries())
+                .thenThrow(new IndexNotReadyException("Category summaries are still being built", 5));
+
+        mockMvc.perform(get("/products/categories"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void testListResponsesAreCachedUntilTheNextWrite() throws Exception {
+        Mockito.when(productService.findByCategory("Category1")).thenReturn(Arrays.asList(product1));
+
+        String body = mockMvc.perform(get("/products/category/{category}", "Category1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String etag = mockMvc.perform(get("/products/category/{category}", "Category1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(body))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/products/category/{category}", "Category1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(productService, Mockito.times(1)).findByCategory("Category1");
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> events.publishEvent(ProductChangedEvent.deleted(2L)));
+        mockMvc.perform(get("/products/category/{category}", "Category1"))
+                .andExpect(status().isOk());
+        Mockito.verify(productService, Mockito.times(2)).findByCategory("Category1");
+    }
+
+    @Test
+    void testLargeListResponsesAreGzipped() throws Exception {
+        List<Product> many = IntStream.range(0, 100).mapToObj(i -> {
+            Product p = new Product();
+            p.setId((long) i);
+            p.setName("Product " + i);
+            p.setCategory("Category1");
+            return p;
+        }).toList();
+        Mockito.when(productService.listAll()).thenReturn(many);
+
+        String plain = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+        byte[] gzipped = mockMvc.perform(get("/products").header("Accept-Encoding", "br;q=1, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(gzipped.length < plain.length());
+        Mockito.verify(productService, Mockito.times(1)).listAll();
+    }
+
     @Test
     void testGetProductsByCategory() throws Exception {
         Mockito.when(productService.findByCategory("Category1")).thenReturn(Arrays.asList(product1));
@@ -146,6 +441,77 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.data[0].category", is("Category1")));
     }
 
+    @Test
+    void testGetCategorySummaries() throws Exception {
+        Mockito.when(productService.categorySummaries())
+                .thenReturn(Arrays.asList(new CategorySummary("Category1", 3, 5.0, 42.5)));
+
+        mockMvc.perform(get("/products/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].category", is("Category1")))
+                .andExpect(jsonPath("$.data[0].count", is(3)))
+                .andExpect(jsonPath("$.data[0].maxPrice", is(42.5)));
+    }
+
+    @Test
+    void testPriceRangeAndSort() throws Exception {
+        Product p = new Product();
+        p.setId(3L);
+        p.setPrice(12.5);
+        PageResponse<Product> page = new PageResponse<>(List.of(p), 0, 20, 1, 1, false);
+        Mockito.when(productService.findByCategory(eq("Toys"), eq(0), eq(null), any(ProductFilter.class), eq(Product.class)))
+                .thenReturn(page);
+        Mockito.when(productService.listPage(eq(2), eq(5), any(ProductFilter.class), eq(Product.class))).thenReturn(page);
+
+        mockMvc.perform(get("/products/category/Toys").param("minPrice", "10").param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].price", is(12.5)))
+                .andExpect(jsonPath("$.data.totalElements", is(1)));
+        mockMvc.perform(get("/products").param("page", "2").param("size", "5").param("maxPrice", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id", is(3)));
+
+        Mockito.verify(productService).findByCategory(eq("Toys"), eq(0), eq(null),
+                Mockito.argThat((ProductFilter f) -> f.getMinPrice() == 10.0 && f.isSorted()), eq(Product.class));
+    }
+
+    @Test
+    void testInvalidPriceRangeAndSort() throws Exception {
+        mockMvc.perform(get("/products").param("minPrice", "20").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products/search").param("query", "kettle").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products/category/Toys").param("sort", "price,sideways"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testChanges() throws Exception {
+        Product p = new Product();
+        p.setId(4L);
+        p.setName("Lamp");
+        ChangeBatch batch = new ChangeBatch(List.of(
+                new ChangeEntry(11L, ProductChangedEvent.Type.UPDATED, 4L, Instant.now(), p),
+                new ChangeEntry(12L, ProductChangedEvent.Type.DELETED, 5L, Instant.now(), null)), 12L, true);
+        Mockito.when(productService.changesSince(10L, 2)).thenReturn(batch);
+
+        mockMvc.perform(get("/products/changes").param("since", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.data.changes[0].product.name", is("Lamp")))
+                .andExpect(jsonPath("$.data.changes[1].productId", is(5)))
+                .andExpect(jsonPath("$.data.nextSince", is(12)))
+                .andExpect(jsonPath("$.data.hasMore", is(true)));
+    }
+
+    @Test
+    void testChangesExpired() throws Exception {
+        Mockito.when(productService.changesSince(3L, null)).thenThrow(new ChangesExpiredException("expired"));
+
+        mockMvc.perform(get("/products/changes").param("since", "3"))
+                .andExpect(status().isGone());
+    }
+
     @Test
     void testCheckForCICD() throws Exception {
 
@@ -0,0 +1,153 @@
+package com.org.product_catalog.facet;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.repo.ProductScanner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class CategoryFacetsTest {
+
+    private ProductRepo repo;
+    private ProductScanner scanner;
+    private SimpleMeterRegistry registry;
+    private CategoryFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        repo = Mockito.mock(ProductRepo.class);
+        scanner = Mockito.mock(ProductScanner.class);
+        registry = new SimpleMeterRegistry();
+        CatalogProperties properties = new CatalogProperties();
+        properties.getFacets().setRecheckDelay(Duration.ZERO);
+        facets = new CategoryFacets(repo, scanner, properties, registry);
+    }
+
+    private static Product product(Long id, String category, Double price) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("Product " + id);
+        p.setCategory(category);
+        p.setPrice(price);
+        return p;
+    }
+
+    private CategorySummary summary(String category) {
+        return facets.summaries().stream()
+                .filter(s -> category.equalsIgnoreCase(s.getCategory()))
+                .findFirst().orElse(null);
+    }
+
+    @Test
+    void tracksCountAndPriceRangeIncrementally() {
+        facets.onProductChanged(ProductChangedEvent.created(product(1L, "Toys", 5.0)));
+        facets.onProductChanged(ProductChangedEvent.created(product(2L, "toys", 20.0)));
+        facets.onProductChanged(ProductChangedEvent.created(product(3L, "Garden", 7.5)));
+
+        assertEquals(List.of("Garden", "Toys"), facets.summaries().stream().map(CategorySummary::getCategory).toList());
+        CategorySummary toys = summary("toys");
+        assertEquals(2, toys.getCount());
+        assertEquals(5.0, toys.getMinPrice());
+        assertEquals(20.0, toys.getMaxPrice());
+    }
+
+    @Test
+    void patchesKeepFieldsTheyDoNotCarry() {
+        facets.put(product(1L, "Toys", 5.0));
+        facets.put(product(2L, "Toys", 20.0));
+
+        facets.onProductChanged(ProductChangedEvent.patched(1L, product(null, null, 25.0)));
+        assertEquals(2, summary("toys").getCount());
+        assertEquals(20.0, summary("toys").getMinPrice());
+        assertEquals(25.0, summary("toys").getMaxPrice());
+
+        facets.onProductChanged(ProductChangedEvent.patched(2L, product(null, "Garden", null)));
+        assertEquals(20.0, summary("garden").getMinPrice());
+        assertEquals(1, summary("toys").getCount());
+    }
+
+    @Test
+    void removingTheCheapestProductMovesTheMinimum() {
+        facets.put(product(1L, "Toys", 5.0));
+        facets.put(product(2L, "Toys", 20.0));
+        facets.put(product(3L, "Toys", 12.0));
+
+        facets.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertEquals(12.0, summary("toys").getMinPrice());
+        assertEquals(2, summary("toys").getCount());
+    }
+
+    @Test
+    void updatesMoveProductsBetweenCategories() {
+        facets.put(product(1L, "Toys", 5.0));
+        facets.onProductChanged(ProductChangedEvent.updated(product(1L, "Garden", 9.0)));
+
+        assertNull(summary("toys"));
+        assertEquals(9.0, summary("garden").getMaxPrice());
+    }
+
+    @Test
+    void reconcileRebuildsWhenTheDatabaseDisagrees() {
+        facets.put(product(1L, "Toys", 5.0));
+        Mockito.when(repo.categoryStats()).thenReturn(List.of());
+
+        facets.reconcile();
+
+        Mockito.verify(scanner).forEach(any());
+        assertEquals(1.0, registry.get("catalog.facets.drift").counter().count());
+        assertTrue(facets.summaries().isEmpty());
+    }
+
+    @Test
+    void reconcileWaitsOutWritesThatHaveNotReachedTheFacetsYet() {
+        facets.put(product(1L, "Toys", 5.0));
+        ProductRepo.CategoryStats toys = stats("toys", 2, 5.0, 9.0);
+        // The second product committed before the GROUP BY, but its event is applied only after it
+        Mockito.when(repo.categoryStats()).thenReturn(List.of(toys)).thenAnswer(invocation -> {
+            facets.onProductChanged(ProductChangedEvent.created(product(2L, "Toys", 9.0)));
+            return List.of(toys);
+        });
+
+        facets.reconcile();
+
+        Mockito.verify(scanner, Mockito.never()).forEach(any());
+        assertEquals(0.0, registry.get("catalog.facets.drift").counter().count());
+        assertEquals(2, summary("toys").getCount());
+    }
+
+    private static ProductRepo.CategoryStats stats(String key, long count, Double min, Double max) {
+        return new ProductRepo.CategoryStats() {
+            @Override
+            public String getCategoryKey() {
+                return key;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public Double getMinPrice() {
+                return min;
+            }
+
+            @Override
+            public Double getMaxPrice() {
+                return max;
+            }
+        };
+    }
+}
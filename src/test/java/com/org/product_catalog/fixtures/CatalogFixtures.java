@@ -0,0 +1,74 @@
+package com.org.product_catalog.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.org.product_catalog.entity.Product;
+
+/**
+ * Deterministic synthetic catalog: the same seed always yields the same products, so runs are comparable.
+ * Shared by the JMH benchmarks and the load tests, which are compiled on top of the test sources.
+ */
+public final class CatalogFixtures {
+
+    public static final long SEED = 42L;
+
+    public static final String[] ADJECTIVES = {
+            "red", "blue", "green", "compact", "deluxe", "classic", "wireless", "portable", "organic", "smart",
+            "vintage", "ergonomic", "heavy", "light", "premium", "budget", "steel", "wooden", "silent", "rapid"};
+
+    public static final String[] NOUNS = {
+            "kettle", "lamp", "chair", "speaker", "blender", "jacket", "backpack", "monitor", "keyboard", "mug",
+            "sofa", "drill", "tent", "camera", "router", "toaster", "helmet", "bottle", "watch", "printer"};
+
+    public static final int CATEGORY_COUNT = 50;
+
+    private CatalogFixtures() {
+    }
+
+    public static String category(int index) {
+        return String.format("Category-%02d", index);
+    }
+
+    public static List<Product> products(int count, long seed) {
+        Random random = new Random(seed);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i, random));
+        }
+        return products;
+    }
+
+    /**
+     * The {@code i}-th product of a sequence; called with {@code i = 0, 1, 2, ...} on one {@link Random} it yields
+     * the same products as {@link #products}, without holding them all in memory.
+     */
+    public static Product product(int i, Random random) {
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        Product p = new Product();
+        p.setName(capitalize(adjective) + " " + capitalize(noun) + " " + i);
+        p.setDescription("A " + adjective + " " + noun + " for everyday use. Model " + i + ".");
+        p.setPrice(Math.round(random.nextDouble() * 100_000) / 100.0);
+        p.setCategory(category(random.nextInt(CATEGORY_COUNT)));
+        return p;
+    }
+
+    /** A one- or two-word query drawn from the fixture vocabulary; roughly a third are prefixes. */
+    public static String searchTerm(Random random) {
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        switch (random.nextInt(3)) {
+            case 0:
+                return noun;
+            case 1:
+                return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun;
+            default:
+                return noun.substring(0, 3);
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.org.product_catalog.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.core.spi.FilterReply;
+import com.org.product_catalog.config.CatalogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogSamplingTest {
+
+    private final SampledRequestTurboFilter turboFilter = new SampledRequestTurboFilter();
+    private final Logger appLogger = (Logger) LoggerFactory.getLogger("com.org.product_catalog.service.Example");
+    private final Logger frameworkLogger = (Logger) LoggerFactory.getLogger("org.springframework.Example");
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    private static String decisionFor(double sampleRate) throws Exception {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getLogging().setRequestSampleRate(sampleRate);
+        String[] seen = new String[1];
+        new RequestLogSampler(properties).doFilter(new MockHttpServletRequest("GET", "/products"),
+                new MockHttpServletResponse(), (request, response) -> seen[0] = MDC.get(RequestLogSampler.MDC_KEY));
+        assertNull(MDC.get(RequestLogSampler.MDC_KEY));
+        return seen[0];
+    }
+
+    @Test
+    void samplerRecordsItsDecisionForTheRequestOnly() throws Exception {
+        assertEquals("true", decisionFor(1.0));
+        assertEquals("false", decisionFor(0.0));
+    }
+
+    @Test
+    void unsampledRequestsDropOnlyApplicationInfoAndBelow() {
+        MDC.put(RequestLogSampler.MDC_KEY, "false");
+
+        assertEquals(FilterReply.DENY, turboFilter.decide(null, appLogger, Level.INFO, "x", null, null));
+        assertEquals(FilterReply.DENY, turboFilter.decide(null, appLogger, Level.DEBUG, "x", null, null));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, appLogger, Level.WARN, "x", null, null));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, frameworkLogger, Level.INFO, "x", null, null));
+    }
+
+    @Test
+    void sampledRequestsAndWorkOutsideRequestsAreLogged() {
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, appLogger, Level.INFO, "x", null, null));
+
+        MDC.put(RequestLogSampler.MDC_KEY, "true");
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, appLogger, Level.INFO, "x", null, null));
+    }
+}
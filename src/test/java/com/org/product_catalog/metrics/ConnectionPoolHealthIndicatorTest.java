@@ -0,0 +1,85 @@
+package com.org.product_catalog.metrics;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolHealthIndicatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HikariDataSource dataSource;
+    private ConnectionPoolHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:pool-health");
+        dataSource.setPoolName("test");
+        dataSource.setMaximumPoolSize(2);
+        CatalogProperties properties = new CatalogProperties();
+        properties.getPool().setMaxAcquireTime(Duration.ofMillis(50));
+        indicator = new ConnectionPoolHealthIndicator(dataSource, registry, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    private Timer acquireTimer() {
+        return Timer.builder(ConnectionPoolHealthIndicator.ACQUIRE_TIMER).tag("pool", "test")
+                .publishPercentiles(0.5, 0.95).register(registry);
+    }
+
+    @Test
+    void unknownUntilThePoolStarts() {
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void reportsConnectionCountsWhileWaitsAreShort() throws Exception {
+        Timer acquire = acquireTimer();
+        try (Connection held = dataSource.getConnection()) {
+            for (int i = 0; i < 100; i++) {
+                acquire.record(Duration.ofMillis(1));
+            }
+            Health health = indicator.health();
+
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals(1, health.getDetails().get("active"));
+            assertEquals(2, health.getDetails().get("max"));
+            assertEquals(0, health.getDetails().get("pending"));
+        }
+    }
+
+    @Test
+    void degradedWhenMostWaitsExceedTheThreshold() throws Exception {
+        Timer acquire = acquireTimer();
+        try (Connection ignored = dataSource.getConnection()) {
+            // One slow acquisition among many fast ones stays below the 95th percentile
+            acquire.record(Duration.ofMillis(500));
+            for (int i = 0; i < 99; i++) {
+                acquire.record(Duration.ofMillis(1));
+            }
+            assertEquals(Status.UP, indicator.health().getStatus());
+
+            for (int i = 0; i < 100; i++) {
+                acquire.record(Duration.ofMillis(200));
+            }
+            Health health = indicator.health();
+            assertEquals(ConnectionPoolHealthIndicator.DEGRADED, health.getStatus());
+            assertTrue((double) health.getDetails().get("acquireMillis") > 50);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.org.product_catalog.metrics;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointMetricsInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @Test
+    void latencyTimersArePreRegisteredPerRoute() {
+        // Registered at startup, before any request reaches the handlers
+        assertNotNull(registry.find("endpoint.latency").tag("endpoint", "GET /products/{id}").timer());
+        assertNotNull(registry.find("endpoint.latency").tag("endpoint", "GET /products?page").timer());
+        assertNotNull(registry.find("endpoint.latency").tag("endpoint", "GET /products?cursor").timer());
+        assertNotNull(registry.find("endpoint.latency").tag("endpoint", "POST /products/bulk/delete").timer());
+    }
+
+    @Test
+    void recordsLatencyUnderTheRouteTemplate() throws Exception {
+        Product product = new Product();
+        product.setId(7L);
+        product.setName("Product A");
+        Mockito.when(productService.getById(7L)).thenReturn(Optional.of(product));
+        Mockito.when(productService.listPage(0, null)).thenReturn(new PageResponse<>(List.of(), 0, 20, 0, 0, false));
+        Timer byId = registry.get("endpoint.latency").tag("endpoint", "GET /products/{id}").timer();
+        Timer page = registry.get("endpoint.latency").tag("endpoint", "GET /products?page").timer();
+        long byIdBefore = byId.count();
+        long pageBefore = page.count();
+
+        mockMvc.perform(get("/products/7")).andExpect(status().isOk());
+        mockMvc.perform(get("/products/8")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("page", "0")).andExpect(status().isOk());
+
+        assertEquals(byIdBefore + 2, byId.count());
+        assertEquals(pageBefore + 1, page.count());
+        assertEquals(0, registry.find("endpoint.success.count").tag("endpoint", "GET /products/8").counters().size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.org.product_catalog.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EndpointMetricsServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EndpointMetricsService metrics = new EndpointMetricsService(registry);
+
+    @Test
+    void metersAreRegisteredOncePerEndpoint() {
+        assertSame(metrics.meters("GET /products/{id}"), metrics.meters("GET /products/{id}"));
+
+        metrics.incrementSuccess("GET /products/{id}");
+        metrics.incrementSuccess("GET /products/{id}");
+        metrics.incrementFailure("GET /products/{id}");
+
+        assertEquals(2.0, registry.get("endpoint.success.count").tag("endpoint", "GET /products/{id}").counter().count());
+        assertEquals(1.0, registry.get("endpoint.failure.count").tag("endpoint", "GET /products/{id}").counter().count());
+    }
+
+    @Test
+    void endpointTagsAreBounded() {
+        for (int i = 0; i < EndpointMetricsService.MAX_ENDPOINTS + 50; i++) {
+            metrics.incrementFailure("Product not found with id: " + i);
+        }
+
+        assertEquals(EndpointMetricsService.MAX_ENDPOINTS + 1, registry.find("endpoint.failure.count").counters().size());
+        assertEquals(50.0, registry.get("endpoint.failure.count")
+                .tag("endpoint", EndpointMetricsService.OVERFLOW_ENDPOINT).counter().count());
+    }
+
+    @Test
+    void exceptionsAreTaggedByType() {
+        metrics.incrementException("GET /products/{id}", new IllegalStateException("id 1"));
+        metrics.incrementException("GET /products/{id}", new IllegalStateException("id 2"));
+
+        assertEquals(1, registry.find("endpoint.exception.count").counters().size());
+        assertEquals(2.0, registry.get("endpoint.exception.count")
+                .tag("exception", "IllegalStateException").counter().count());
+    }
+}
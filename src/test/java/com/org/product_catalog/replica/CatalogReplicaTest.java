@@ -0,0 +1,167 @@
+package com.org.product_catalog.replica;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.ProductSummary;
+import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.repo.ProductScanner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class CatalogReplicaTest {
+
+    private ProductRepo repo;
+    private ProductScanner scanner;
+    private SimpleMeterRegistry registry;
+    private CatalogReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        repo = Mockito.mock(ProductRepo.class);
+        scanner = Mockito.mock(ProductScanner.class);
+        registry = new SimpleMeterRegistry();
+        CatalogProperties properties = new CatalogProperties();
+        properties.getReplica().setEnabled(true);
+        replica = new CatalogReplica(repo, scanner, properties, registry);
+    }
+
+    private static Product product(Long id, String name, String category, Double price, long version) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setDescription(name == null ? null : "About " + name);
+        p.setCategory(category);
+        p.setPrice(price);
+        p.setVersion(version);
+        p.setUpdatedAt(Instant.parse("2026-10-01T12:00:00.123456Z"));
+        return p;
+    }
+
+    private List<Long> idsIn(String category) {
+        return replica.findByCategory(category, Product.class).stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void roundTripsEveryField() {
+        Product lamp = product(7L, "Lämp – ☀", "Lighting", 19.99, 3);
+        replica.put(lamp);
+        replica.put(product(8L, null, null, null, 0));
+
+        Product read = replica.get(7L).orElseThrow();
+        assertEquals(lamp.getName(), read.getName());
+        assertEquals(lamp.getDescription(), read.getDescription());
+        assertEquals(19.99, read.getPrice());
+        assertEquals("Lighting", read.getCategory());
+        assertEquals("lighting", read.getCategoryKey());
+        assertEquals(3L, read.getVersion());
+        assertEquals(lamp.getUpdatedAt(), read.getUpdatedAt());
+
+        Product empty = replica.get(8L).orElseThrow();
+        assertNull(empty.getName());
+        assertNull(empty.getDescription());
+        assertNull(empty.getPrice());
+        assertNull(empty.getCategory());
+        assertEquals(Optional.empty(), replica.get(9L));
+    }
+
+    @Test
+    void findsCategoriesCaseInsensitivelyInIdOrder() {
+        replica.put(product(5L, "Bulb", "lighting", 2.5, 0));
+        replica.put(product(2L, "Lamp", "Lighting", 30.0, 0));
+        replica.put(product(3L, "Desk", "Furniture", 120.0, 0));
+
+        assertEquals(List.of(2L, 5L), idsIn("LIGHTING"));
+        assertEquals(List.of("Lighting", "lighting"), replica.findByCategory("lighting", ProductSummary.class)
+                .stream().map(ProductSummary::getCategory).toList());
+        assertEquals(List.of(), idsIn("Garden"));
+        assertEquals(List.of(), idsIn(null));
+    }
+
+    @Test
+    void followsWritesAndIgnoresStaleOnes() {
+        replica.onProductChanged(ProductChangedEvent.created(product(1L, "Lamp", "Lighting", 30.0, 0)));
+        replica.onProductChanged(ProductChangedEvent.updated(product(1L, "Lamp", "Furniture", 35.0, 2)));
+        replica.onProductChanged(ProductChangedEvent.updated(product(1L, "Lamp", "Lighting", 31.0, 1)));
+        assertEquals(35.0, replica.get(1L).orElseThrow().getPrice());
+        assertEquals(List.of(1L), idsIn("furniture"));
+        assertEquals(List.of(), idsIn("lighting"));
+
+        replica.onProductChanged(ProductChangedEvent.deleted(1L));
+        replica.onProductChanged(ProductChangedEvent.created(product(1L, "Lamp", "Lighting", 30.0, 0)));
+        assertTrue(replica.get(1L).isEmpty());
+    }
+
+    @Test
+    void patchesRereadTheRow() {
+        replica.put(product(1L, "Lamp", "Lighting", 30.0, 0));
+        Mockito.when(repo.findById(1L)).thenReturn(Optional.of(product(1L, "Lamp", "Lighting", 12.5, 1)));
+        Mockito.when(repo.findById(2L)).thenReturn(Optional.empty());
+
+        Product changes = new Product();
+        changes.setPrice(12.5);
+        replica.onProductChanged(ProductChangedEvent.patched(1L, changes));
+        replica.onProductChanged(ProductChangedEvent.patched(2L, changes));
+
+        assertEquals(12.5, replica.get(1L).orElseThrow().getPrice());
+        assertTrue(replica.get(2L).isEmpty());
+    }
+
+    @Test
+    void compactsAfterDeletesWithoutLosingLiveRows() {
+        for (long id = 1; id <= 2000; id++) {
+            replica.put(product(id, "Product " + id, "Category" + (id % 3), (double) id, 0));
+        }
+        for (long id = 1; id <= 2000; id += 2) {
+            replica.remove(id);
+        }
+        for (long id = 1; id <= 2000; id++) {
+            replica.put(product(id, "Renamed " + id, "Category" + (id % 3), (double) id, 1));
+        }
+
+        assertEquals(1000, replica.size());
+        assertEquals(1000.0, registry.get("catalog.replica.products").gauge().value());
+        assertEquals("Renamed 1000", replica.get(1000L).orElseThrow().getName());
+        assertTrue(replica.get(999L).isEmpty());
+        assertEquals(333, idsIn("category1").size());
+    }
+
+    @Test
+    void rebuildLoadsFromAScanAndMarksItselfReady() {
+        replica.put(product(99L, "Gone", "Old", 1.0, 0));
+        Mockito.when(scanner.forEach(any())).thenAnswer(invocation -> {
+            Consumer<Product> sink = invocation.getArgument(0);
+            sink.accept(product(1L, "Lamp", "Lighting", 30.0, 0));
+            sink.accept(product(2L, "Desk", "Furniture", 120.0, 0));
+            return 2L;
+        });
+
+        assertFalse(replica.isReady());
+        replica.rebuild();
+
+        assertTrue(replica.isReady());
+        assertEquals(2, replica.size());
+        assertTrue(replica.get(99L).isEmpty());
+    }
+
+    @Test
+    void staysOutOfTheWayWhenDisabled() {
+        CatalogReplica disabled = new CatalogReplica(repo, scanner, new CatalogProperties(), new SimpleMeterRegistry());
+        disabled.rebuild();
+        disabled.onProductChanged(ProductChangedEvent.created(product(1L, "Lamp", "Lighting", 30.0, 0)));
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+        Mockito.verifyNoInteractions(scanner);
+    }
+}
@@ -0,0 +1,61 @@
+package com.org.product_catalog.repo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks H2's plans for the category and price lookups, so a schema change that silently drops an index fails
+ * the build.
+ */
+@SpringBootTest
+class ProductRepoQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    @Test
+    void categoryLookupUsesCategoryKeyIndex() {
+        String plan = explain("SELECT p.* FROM product p WHERE p.category_key = ?", "electronics");
+
+        assertThat(plan, containsStringIgnoringCase("IDX_PRODUCT_CATEGORY_KEY"));
+        assertThat(plan, not(containsStringIgnoringCase("tableScan")));
+    }
+
+    @Test
+    void categoryPriceRangeIsOneIndexRangeInPriceOrder() {
+        String plan = explain("SELECT p.* FROM product p WHERE p.category_key = ? AND p.price BETWEEN ? AND ? "
+                + "ORDER BY p.price, p.id FETCH FIRST 20 ROWS ONLY", "electronics", 10.0, 50.0);
+
+        assertThat(plan, containsStringIgnoringCase("IDX_PRODUCT_CATEGORY_KEY_PRICE"));
+        assertThat(plan, containsStringIgnoringCase("PRICE >="));
+        assertThat(plan, not(containsStringIgnoringCase("tableScan")));
+    }
+
+    @Test
+    void priceRangeUsesPriceIndex() {
+        String plan = explain("SELECT p.* FROM product p WHERE p.price BETWEEN ? AND ? ORDER BY p.price, p.id "
+                + "FETCH FIRST 20 ROWS ONLY", 10.0, 50.0);
+
+        assertThat(plan, containsStringIgnoringCase("IDX_PRODUCT_PRICE"));
+        // Rows come off the index in price order, so only ties on price need sorting
+        assertThat(plan, containsStringIgnoringCase("index sorted"));
+        assertThat(plan, not(containsStringIgnoringCase("tableScan")));
+    }
+
+    @Test
+    void caseFoldingInTheQueryCannotUseTheIndex() {
+        // The shape findByCategoryIgnoreCase used to generate; kept here to show why the stored key exists
+        String plan = explain("SELECT p.* FROM product p WHERE UPPER(p.category) = UPPER(?)", "electronics");
+
+        assertThat(plan, containsStringIgnoringCase("tableScan"));
+    }
+}
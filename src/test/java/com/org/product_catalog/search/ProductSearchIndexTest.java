@@ -0,0 +1,95 @@
+package com.org.product_catalog.search;
+
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.repo.ProductScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(Mockito.mock(ProductScanner.class));
+        index.index(product(1L, "Red Running Shoe", "Footwear", "Lightweight trainer"));
+        index.index(product(2L, "Blue Kettle", "Kitchen", "Boils water; goes well with red mugs"));
+        index.index(product(3L, "Redwood Table", "Furniture", null));
+        index.index(product(4L, "Shoe Rack", "Furniture", "Holds ten pairs"));
+    }
+
+    private static Product product(Long id, String name, String category, String description) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setCategory(category);
+        p.setDescription(description);
+        return p;
+    }
+
+    @Test
+    void ranksExactNameMatchesAboveDescriptionAndPrefixMatches() {
+        // "red": exact in name (1), prefix of "redwood" in name (3), exact in description (2)
+        assertEquals(List.of(1L, 3L, 2L), index.search("red", 0, 10));
+    }
+
+    @Test
+    void requiresEveryTermToMatch() {
+        assertEquals(List.of(1L), index.search("red shoe", 0, 10));
+        assertEquals(List.of(4L), index.search("furn shoe", 0, 10));
+        assertTrue(index.search("red sofa", 0, 10).isEmpty());
+    }
+
+    @Test
+    void matchesDescriptionAndCategory() {
+        assertEquals(List.of(2L), index.search("water", 0, 10));
+        assertEquals(List.of(3L, 4L), index.search("Furniture", 0, 10));
+    }
+
+    @Test
+    void patchesReindexOnlyTheChangedFields() {
+        index.onProductChanged(ProductChangedEvent.patched(2L, product(null, "Green Kettle", null, null)));
+
+        assertEquals(List.of(2L), index.search("green kettle", 0, 10));
+        assertTrue(index.search("blue", 0, 10).isEmpty());
+        // Category and description kept their terms
+        assertEquals(List.of(2L), index.search("kitchen water", 0, 10));
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        assertEquals(List.of(1L, 3L), index.search("red", 0, 2));
+        assertEquals(List.of(2L), index.search("red", 1, 2));
+        assertTrue(index.search("red", 2, 2).isEmpty());
+    }
+
+    @Test
+    void pagesWhoseOffsetOverflowsAnIntAreEmpty() {
+        // 4294967 * 1000 wraps to -296 in int arithmetic
+        assertTrue(index.search("red", 4_294_967, 1000).isEmpty());
+        assertTrue(index.search("red", Integer.MAX_VALUE, 2).isEmpty());
+    }
+
+    @Test
+    void reindexingAndRemovalReplaceOldTerms() {
+        index.index(product(1L, "Green Sandal", "Footwear", null));
+        assertEquals(List.of(3L, 2L), index.search("red", 0, 10));
+        assertEquals(List.of(1L), index.search("sandal", 0, 10));
+
+        index.remove(1L);
+        assertTrue(index.search("sandal", 0, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        assertTrue(index.search("  ", 0, 10).isEmpty());
+        assertTrue(index.search("--", 0, 10).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.org.product_catalog.search;
+
+import com.org.product_catalog.config.CatalogProperties;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.model.ProductSuggestion;
+import com.org.product_catalog.repo.ProductScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class ProductSuggestIndexTest {
+
+    private final ProductScanner scanner = Mockito.mock(ProductScanner.class);
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex(scanner, new CatalogProperties());
+        index.put(product(1L, "Red Running Shoe", "Footwear"));
+        index.put(product(2L, "Blue Kettle", "Kitchen"));
+        index.put(product(3L, "Redwood Table", "Furniture"));
+        index.put(product(4L, "Shoe Rack", "Furniture"));
+        index.put(product(5L, "Red Kettle", "Kitchen"));
+        index.put(product(6L, "Kettle Descaler", "Kitchen"));
+    }
+
+    private static Product product(Long id, String name, String category) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setCategory(category);
+        return p;
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, 10).stream().map(ProductSuggestion::getText).toList();
+    }
+
+    @Test
+    void ranksByProductCountThenAlphabetically() {
+        List<ProductSuggestion> kitchen = index.suggest("k", 10);
+        assertEquals(List.of("Kitchen", "Blue Kettle", "Kettle Descaler", "Red Kettle"),
+                kitchen.stream().map(ProductSuggestion::getText).toList());
+        assertEquals(ProductSuggestion.Type.CATEGORY, kitchen.get(0).getType());
+        assertEquals(3, kitchen.get(0).getCount());
+        assertEquals(List.of("Kitchen", "Blue Kettle"), index.suggest("k", 2).stream()
+                .map(ProductSuggestion::getText).toList());
+    }
+
+    @Test
+    void matchesTheStartOfAnyWordIgnoringCaseAndSpacing() {
+        assertEquals(List.of("Red Running Shoe"), texts("RUN"));
+        assertEquals(List.of("Red Running Shoe", "Shoe Rack"), texts("shoe"));
+        assertEquals(List.of("Red Kettle", "Red Running Shoe"), texts("  red   "));
+        assertEquals(List.of("Red Kettle", "Red Running Shoe", "Redwood Table"), texts("red"));
+        assertTrue(texts("edwood").isEmpty());
+    }
+
+    @Test
+    void prefixesLongerThanTheTrieAreFilteredInTheDeepestNode() {
+        index.put(product(7L, "Stainless Steel Kettle", "Kitchen"));
+        index.put(product(8L, "Stainless Steel Bottle", "Outdoor"));
+
+        assertEquals(List.of("Stainless Steel Bottle", "Stainless Steel Kettle"), texts("stainless st"));
+        assertEquals(List.of("Stainless Steel Kettle"), texts("stainless steel k"));
+        assertTrue(texts("stainless steel x").isEmpty());
+    }
+
+    @Test
+    void followsCreatesUpdatesPatchesAndDeletes() {
+        index.onProductChanged(ProductChangedEvent.updated(product(4L, "Shoe Rack", "Hallway")));
+        assertEquals(List.of("Furniture"), texts("furn"));
+        assertEquals(1, index.suggest("furn", 10).get(0).getCount());
+
+        index.onProductChanged(ProductChangedEvent.patched(3L, product(null, "Oak Table", null)));
+        assertEquals(List.of("Red Kettle", "Red Running Shoe"), texts("red"));
+        assertEquals(List.of("Oak Table"), texts("tab"));
+
+        index.onProductChanged(ProductChangedEvent.deleted(3L));
+        assertTrue(texts("furn").isEmpty());
+        assertTrue(texts("oak").isEmpty());
+
+        // Re-saving a product under the same name keeps one suggestion and picks up the new spelling
+        index.onProductChanged(ProductChangedEvent.updated(product(5L, "RED kettle", "Kitchen")));
+        assertEquals(List.of("RED kettle", "Red Running Shoe"), texts("red"));
+        index.onProductChanged(ProductChangedEvent.created(product(9L, "Red Kettle", "Kitchen")));
+        assertEquals(List.of("Red Kettle", "Red Running Shoe"), texts("red"));
+        assertEquals(2, index.suggest("red k", 10).get(0).getCount());
+    }
+
+    @Test
+    void rebuildReplacesTheContentsWithAScan() {
+        Mockito.when(scanner.forEach(any())).thenAnswer(invocation -> {
+            Consumer<Product> sink = invocation.getArgument(0);
+            sink.accept(product(10L, "Green Lamp", "Lighting"));
+            sink.accept(product(11L, "Green Lamp", "Lighting"));
+            return 2L;
+        });
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertTrue(texts("red").isEmpty());
+        assertEquals(List.of("Green Lamp", "Lighting"), texts("l"));
+        assertEquals(2, index.suggest("gre", 10).get(0).getCount());
+    }
+
+    @Test
+    void incrementalTopListsMatchABruteForceRanking() {
+        index = new ProductSuggestIndex(scanner, new CatalogProperties());
+        String[] words = {"red", "blue", "kettle", "lamp", "chair", "steel", "stainless", "st"};
+        Random random = new Random(7);
+        Map<Long, Product> live = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            long id = 1 + random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                live.remove(id);
+                index.onProductChanged(ProductChangedEvent.deleted(id));
+            } else {
+                Product p = product(id, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                        "Cat " + words[random.nextInt(words.length)]);
+                live.put(id, p);
+                index.onProductChanged(ProductChangedEvent.updated(p));
+            }
+        }
+        for (String prefix : List.of("", "s", "st", "sta", "stainless st", "cat s", "red k", "lamp ")) {
+            assertEquals(bruteForce(live.values(), prefix),
+                    texts(prefix).stream().map(String::toLowerCase).toList(), "prefix '" + prefix + "'");
+        }
+    }
+
+    private static List<String> bruteForce(Iterable<Product> products, String prefix) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Product p : products) {
+            counts.merge(p.getName().toLowerCase(), 1, Integer::sum);
+            counts.merge(p.getCategory().toLowerCase(), 1, Integer::sum);
+        }
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(prefix) || key.contains(" " + prefix)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return matches.stream().limit(10).map(Map.Entry::getKey).toList();
+    }
+}
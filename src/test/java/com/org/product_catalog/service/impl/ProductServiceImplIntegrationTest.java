@@ -0,0 +1,385 @@
+package com.org.product_catalog.service.impl;
+
+import com.org.product_catalog.cache.ProductCache;
+import com.org.product_catalog.changelog.ChangeLog;
+import com.org.product_catalog.entity.Product;
+import com.org.product_catalog.event.ProductChangedEvent;
+import com.org.product_catalog.facet.CategoryFacets;
+import com.org.product_catalog.model.BulkItemResult;
+import com.org.product_catalog.model.BulkResponse;
+import com.org.product_catalog.model.CategorySummary;
+import com.org.product_catalog.model.ChangeBatch;
+import com.org.product_catalog.model.ChangeEntry;
+import com.org.product_catalog.model.CursorPage;
+import com.org.product_catalog.model.PageResponse;
+import com.org.product_catalog.model.ProductFilter;
+import com.org.product_catalog.model.ProductSummary;
+import com.org.product_catalog.repo.ProductChangeRepo;
+import com.org.product_catalog.repo.ProductRepo;
+import com.org.product_catalog.search.ProductSearchIndex;
+import com.org.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "catalog.bulk.batch-size=7")
+class ProductServiceImplIntegrationTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductRepo repo;
+
+    @Autowired
+    private ProductCache cache;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryFacets facets;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ProductChangeRepo changeRepo;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        repo.deleteAllInBatch();
+        changeRepo.deleteAllInBatch();
+        cache.clear();
+        searchIndex.rebuild();
+        facets.rebuild();
+    }
+
+    private static Product product(String name, String category, double price) {
+        Product p = new Product();
+        p.setName(name);
+        p.setCategory(category);
+        p.setPrice(price);
+        return p;
+    }
+
+    private List<Product> seed(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(product("Product " + i, "Category" + (i % 3), 10.0 + i));
+        }
+        return products;
+    }
+
+    @Test
+    void cursorPagesVisitEveryProductOnce() {
+        service.bulkCreate(seed(25));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<Product> page = service.listAfter(cursor, 10);
+            page.getItems().forEach(p -> seen.add(p.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    void rejectsOversizedPage() {
+        assertThrows(IllegalArgumentException.class, () -> service.listPage(0, 10_000));
+    }
+
+    @Test
+    void bulkCreateAssignsIdsAcrossBatches() {
+        BulkResponse response = service.bulkCreate(seed(20));
+
+        assertEquals(20, response.getSucceeded());
+        assertTrue(response.getItems().stream().allMatch(r -> r.getStatus() == BulkItemResult.Status.CREATED && r.getId() != null));
+        assertEquals(20, repo.count());
+    }
+
+    @Test
+    void bulkUpdateAndDeleteReportPerItemOutcome() {
+        BulkResponse created = service.bulkCreate(seed(3));
+        Long id = created.getItems().get(0).getId();
+
+        Product change = product("Renamed", "Category9", 99.0);
+        change.setId(id);
+        Product missing = product("Ghost", "Category9", 1.0);
+        missing.setId(-1L);
+        BulkResponse updated = service.bulkUpdate(Arrays.asList(change, missing, product("No id", "x", 1.0)));
+
+        assertEquals(BulkItemResult.Status.UPDATED, updated.getItems().get(0).getStatus());
+        assertEquals(BulkItemResult.Status.NOT_FOUND, updated.getItems().get(1).getStatus());
+        assertEquals(BulkItemResult.Status.FAILED, updated.getItems().get(2).getStatus());
+        assertEquals("Renamed", repo.findById(id).orElseThrow().getName());
+
+        BulkResponse deleted = service.bulkDelete(Arrays.asList(id, -1L));
+        assertEquals(BulkItemResult.Status.DELETED, deleted.getItems().get(0).getStatus());
+        assertEquals(BulkItemResult.Status.NOT_FOUND, deleted.getItems().get(1).getStatus());
+        assertEquals(2, repo.count());
+    }
+
+    @Test
+    void getByIdIsServedFromCacheAndRefreshedByWrites() {
+        Product created = service.create(product("Cached", "Category1", 5.0));
+        Long id = created.getId();
+        assertEquals("Cached", service.getById(id).orElseThrow().getName());
+
+        // A change made behind the service's back is not visible until the entry is refreshed
+        Product sneaky = repo.findById(id).orElseThrow();
+        sneaky.setName("Changed directly");
+        repo.save(sneaky);
+        assertEquals("Cached", service.getById(id).orElseThrow().getName());
+
+        service.update(id, product("Updated", "Category1", 6.0));
+        assertEquals("Updated", service.getById(id).orElseThrow().getName());
+
+        service.delete(id);
+        assertTrue(service.getById(id).isEmpty());
+    }
+
+    @Test
+    void updateWithExpectedVersionRejectsStaleWrites() {
+        Product created = service.create(product("Versioned", "Category1", 5.0));
+        Long version = created.getVersion();
+        assertNotNull(created.getUpdatedAt());
+
+        Product updated = service.update(created.getId(), product("First", "Category1", 6.0), version).orElseThrow();
+        assertEquals(version + 1, updated.getVersion());
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> service.update(created.getId(), product("Second", "Category1", 7.0), version));
+        assertEquals("First", repo.findById(created.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void patchChangesOnlyTheFieldsSent() {
+        Product lamp = product("Desk Lamp", "Lighting", 30.0);
+        lamp.setDescription("Warm white");
+        Product created = service.create(lamp);
+        Long id = created.getId();
+        assertEquals(30.0, service.getById(id).orElseThrow().getPrice());
+
+        Product newPrice = new Product();
+        newPrice.setPrice(24.5);
+        assertTrue(service.patch(id, newPrice, created.getVersion()));
+
+        Product patched = service.getById(id).orElseThrow();
+        assertEquals(24.5, patched.getPrice());
+        assertEquals("Desk Lamp", patched.getName());
+        assertEquals("Warm white", patched.getDescription());
+        assertEquals(created.getVersion() + 1, patched.getVersion());
+        assertEquals(24.5, service.categorySummaries().get(0).getMinPrice());
+
+        Product changes = new Product();
+        changes.setCategory("Office");
+        assertTrue(service.patch(id, changes, null));
+        assertEquals(List.of(id), service.findByCategory("office").stream().map(Product::getId).toList());
+        assertEquals(List.of(id), service.search("office lamp").stream().map(Product::getId).toList());
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.patch(id, changes, created.getVersion()));
+        assertFalse(service.patch(id + 1000, changes, null));
+        assertThrows(IllegalArgumentException.class, () -> service.patch(id, new Product(), null));
+    }
+
+    @Test
+    void deleteOfUnknownIdIsANoOp() {
+        Long id = service.create(product("Gone", "Category1", 1.0)).getId();
+        service.delete(id);
+        service.delete(id);
+        assertTrue(service.getById(id).isEmpty());
+    }
+
+    @Test
+    void summaryViewsSkipTheDescription() {
+        Product kettle = product("Blue Kettle", "Kitchen", 25.0);
+        kettle.setDescription("Stainless steel");
+        Long kettleId = service.create(kettle).getId();
+        Long panId = service.create(product("Blue Pan", "Kitchen", 15.0)).getId();
+
+        List<ProductSummary> all = service.listAll(ProductSummary.class);
+        assertEquals(List.of(kettleId, panId), all.stream().map(ProductSummary::getId).toList());
+        assertEquals("Blue Kettle", all.get(0).getName());
+        assertEquals(25.0, all.get(0).getPrice());
+        assertEquals("Kitchen", all.get(0).getCategory());
+
+        assertEquals(2, service.findByCategory("KITCHEN", ProductSummary.class).size());
+        assertEquals(2, service.listPage(0, 10, ProductSummary.class).getTotalElements());
+        CursorPage<ProductSummary> first = service.listAfter(null, 1, ProductSummary.class);
+        assertEquals(kettleId, first.getItems().get(0).getId());
+        assertEquals(panId, service.listAfter(first.getNextCursor(), 1, ProductSummary.class).getItems().get(0).getId());
+        assertEquals(List.of(kettleId), service.search("kettle", 0, 10, ProductSummary.class).stream()
+                .map(ProductSummary::getId).toList());
+    }
+
+    @Test
+    void priceRangesAndSortArePushedIntoPagedQueries() {
+        service.bulkCreate(seed(12));
+        Product unpriced = product("Unpriced", "Category0", 0);
+        unpriced.setPrice(null);
+        service.create(unpriced);
+        ProductFilter cheapestFirst = ProductFilter.parse(12.0, 19.0, "price");
+
+        PageResponse<Product> first = service.listPage(0, 3, cheapestFirst, Product.class);
+        assertEquals(List.of(12.0, 13.0, 14.0), first.getItems().stream().map(Product::getPrice).toList());
+        assertNull(first.getTotalElements());
+        assertTrue(first.isHasNext());
+        PageResponse<Product> counted = service.listPage(2, 3, ProductFilter.parse(12.0, 19.0, "price", true), Product.class);
+        assertEquals(List.of(18.0, 19.0), counted.getItems().stream().map(Product::getPrice).toList());
+        assertEquals(8, counted.getTotalElements());
+        assertEquals(3, counted.getTotalPages());
+        assertFalse(counted.isHasNext());
+        assertEquals(List.of(19.0, 18.0), service.listPage(0, 2, ProductFilter.parse(null, 19.0, "price,desc"),
+                ProductSummary.class).getItems().stream().map(ProductSummary::getPrice).toList());
+
+        // Category0 holds prices 10, 13, 16, 19 (and 0)
+        PageResponse<Product> category = service.findByCategory("CATEGORY0", 0, 10,
+                ProductFilter.parse(11.0, null, "price,desc"), Product.class);
+        assertEquals(List.of(19.0, 16.0, 13.0), category.getItems().stream().map(Product::getPrice).toList());
+        assertFalse(category.isHasNext());
+        assertNull(category.getTotalElements());
+        assertEquals(5, service.findByCategory("category0", 0, 10, ProductFilter.parse(null, null, null, true),
+                Product.class).getTotalElements());
+    }
+
+    @Test
+    void searchAppliesPriceRangeAndSort() {
+        service.create(product("Blue Lamp", "Kettles", 45.0));
+        service.create(product("Steel Kettle", "Kitchen", 40.0));
+        service.create(product("Blue Kettle", "Kitchen", 25.0));
+        service.create(product("Kettle", "Kitchen", 60.0));
+
+        assertEquals(List.of("Blue Kettle", "Blue Lamp", "Steel Kettle"), service.search("kettle", 0, 10,
+                ProductFilter.parse(null, 50.0, "name"), Product.class).stream().map(Product::getName).toList());
+        assertEquals(List.of(60.0, 45.0, 40.0, 25.0), service.search("kettle", 0, 10,
+                ProductFilter.parse(null, null, "price,desc"), Product.class).stream().map(Product::getPrice).toList());
+        // Without a sort the range keeps relevance order: name matches outrank the category match
+        List<Product> relevant = service.search("kettle", 0, 10, ProductFilter.parse(30.0, null, null), Product.class);
+        assertEquals(List.of("Steel Kettle", "Kettle", "Blue Lamp"), relevant.stream().map(Product::getName).toList());
+        assertEquals(List.of(), service.search("kettle", 1, 10, ProductFilter.parse(30.0, null, null), Product.class));
+    }
+
+    @Test
+    void searchUsesIndexKeptCurrentByWrites() {
+        Product kettle = product("Blue Kettle", "Kitchen", 25.0);
+        kettle.setDescription("Stainless steel, boils fast");
+        Long id = service.create(kettle).getId();
+        service.create(product("Kitchen Scale", "Kitchen", 15.0));
+
+        assertEquals(List.of(id), service.search("stain").stream().map(Product::getId).toList());
+        assertEquals(2, service.search("kitchen").size());
+        assertEquals(1, service.search("kitchen", 1, 1).size());
+        assertTrue(service.search("kitchen", Integer.MAX_VALUE / 100, 200).isEmpty());
+
+        service.delete(id);
+        assertTrue(service.search("stain").isEmpty());
+    }
+
+    @Test
+    void findByCategoryIgnoresCase() {
+        service.create(product("Lamp", "Home Office", 30.0));
+        Product desk = service.create(product("Desk", "home office", 120.0));
+
+        assertEquals(2, service.findByCategory("HOME OFFICE").size());
+
+        service.update(desk.getId(), product("Desk", "Furniture", 120.0));
+        assertEquals(1, service.findByCategory("home office").size());
+        assertEquals(1, service.findByCategory("furniture").size());
+    }
+
+    @Test
+    void categorySummariesFollowWritesAndReconcileCleanly() {
+        service.create(product("Lamp", "Lighting", 30.0));
+        Product bulb = service.create(product("Bulb", "lighting", 2.5));
+        service.bulkCreate(seed(3));
+
+        CategorySummary lighting = service.categorySummaries().stream()
+                .filter(s -> "Lighting".equals(s.getCategory())).findFirst().orElseThrow();
+        assertEquals(2, lighting.getCount());
+        assertEquals(2.5, lighting.getMinPrice());
+
+        service.delete(bulb.getId());
+        double driftBefore = registry.get("catalog.facets.drift").counter().count();
+        facets.reconcile();
+        assertEquals(driftBefore, registry.get("catalog.facets.drift").counter().count());
+        assertEquals(4, service.categorySummaries().size());
+    }
+
+    @Test
+    void writesAppendSequencedChanges() {
+        Product lamp = service.create(product("Lamp", "Lighting", 30.0));
+        Product desk = service.create(product("Desk", "Furniture", 120.0));
+        service.update(lamp.getId(), product("Lamp", "Lighting", 35.0));
+        service.delete(desk.getId());
+
+        List<ChangeEntry> changes = service.changesSince(0, null).getChanges();
+        assertEquals(List.of(ProductChangedEvent.Type.CREATED, ProductChangedEvent.Type.CREATED,
+                        ProductChangedEvent.Type.UPDATED, ProductChangedEvent.Type.DELETED),
+                changes.stream().map(ChangeEntry::getType).toList());
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).getSeq() > changes.get(i - 1).getSeq());
+        }
+        assertEquals(35.0, changes.get(2).getProduct().getPrice());
+        assertNull(changes.get(3).getProduct());
+
+        ChangeBatch caughtUp = service.changesSince(changes.get(3).getSeq(), null);
+        assertTrue(caughtUp.getChanges().isEmpty());
+        assertEquals(changes.get(3).getSeq(), caughtUp.getNextSince());
+    }
+
+    @Test
+    void changeBatchesPageThroughTheLog() {
+        seed(12).forEach(service::create);
+
+        List<Long> seen = new ArrayList<>();
+        long since = 0;
+        ChangeBatch batch;
+        do {
+            batch = service.changesSince(since, 5);
+            assertTrue(batch.getChanges().size() <= 5);
+            batch.getChanges().forEach(c -> seen.add(c.getProductId()));
+            since = batch.getNextSince();
+        } while (batch.isHasMore());
+
+        assertEquals(12, seen.size());
+        assertEquals(12, seen.stream().distinct().count());
+    }
+
+    @Test
+    void compactionKeepsTheLatestChangePerProduct() {
+        Product lamp = service.create(product("Lamp", "Lighting", 30.0));
+        service.update(lamp.getId(), product("Lamp", "Lighting", 31.0));
+        service.update(lamp.getId(), product("Lamp", "Lighting", 32.0));
+        service.create(product("Desk", "Furniture", 120.0));
+
+        changeLog.compact();
+
+        List<ChangeEntry> changes = service.changesSince(0, null).getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(lamp.getId(), changes.get(0).getProductId());
+        assertEquals(ProductChangedEvent.Type.UPDATED, changes.get(0).getType());
+    }
+
+    @Test
+    void changeLimitsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> service.changesSince(-1, null));
+        assertThrows(IllegalArgumentException.class, () -> service.changesSince(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.changesSince(0, 5001));
+    }
+}
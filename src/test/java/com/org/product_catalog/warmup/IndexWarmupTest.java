@@ -0,0 +1,103 @@
+package com.org.product_catalog.warmup;
+
+import com.org.product_catalog.cache.CatalogVersion;
+import com.org.product_catalog.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexWarmupTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    private static ApplicationReadyEvent ready(Duration timeTaken) {
+        return new ApplicationReadyEvent(new SpringApplication(), new String[0], null, timeTaken);
+    }
+
+    private static InProcessIndex index(String name, Runnable rebuild) {
+        return new InProcessIndex() {
+            @Override
+            public String indexName() {
+                return name;
+            }
+
+            @Override
+            public void rebuild() {
+                rebuild.run();
+            }
+        };
+    }
+
+    /** Rebuild that only returns once every index has started, which can only happen if they run concurrently. */
+    private static Runnable awaitAll(CountDownLatch started) {
+        return () -> {
+            started.countDown();
+            try {
+                assertTrue(started.await(5, TimeUnit.SECONDS), "indexes were built one after another");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @Test
+    void buildsIndexesConcurrentlyAndRecordsStartupTime() {
+        CountDownLatch started = new CountDownLatch(3);
+        List<InProcessIndex> indexes = List.of(index("search", awaitAll(started)),
+                index("facets", awaitAll(started)), index("replica", awaitAll(started)));
+        IndexWarmup warmup = new IndexWarmup(indexes, new CatalogProperties(), registry, catalogVersion);
+
+        warmup.onApplicationReady(ready(Duration.ofSeconds(2)));
+
+        assertEquals(1, registry.get("catalog.warmup.time").tag("index", "facets").timer().count());
+        double startup = registry.get("catalog.startup.time").timeGauge().value(TimeUnit.MILLISECONDS);
+        assertTrue(startup >= 2000 && startup < 7000, "startup time " + startup);
+    }
+
+    @Test
+    void retiresTheTagsHandedOutBeforeTheIndexesWereBuilt() {
+        String duringWarmup = catalogVersion.etag();
+        String[] seenByBuild = new String[1];
+        IndexWarmup warmup = new IndexWarmup(List.of(index("facets", () -> seenByBuild[0] = catalogVersion.etag())),
+                new CatalogProperties(), registry, catalogVersion);
+
+        warmup.onApplicationReady(ready(Duration.ofSeconds(1)));
+
+        assertEquals(duringWarmup, seenByBuild[0]);
+        assertNotEquals(duringWarmup, catalogVersion.etag());
+    }
+
+    @Test
+    void buildsOneAfterAnotherWhenNotParallel() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getWarmup().setParallel(false);
+        Thread[] builtOn = new Thread[2];
+        IndexWarmup warmup = new IndexWarmup(List.of(index("search", () -> builtOn[0] = Thread.currentThread()),
+                index("facets", () -> builtOn[1] = Thread.currentThread())), properties, registry, catalogVersion);
+
+        warmup.onApplicationReady(ready(null));
+
+        assertSame(Thread.currentThread(), builtOn[0]);
+        assertSame(Thread.currentThread(), builtOn[1]);
+    }
+
+    @Test
+    void aFailedBuildFailsStartup() {
+        IndexWarmup warmup = new IndexWarmup(List.of(index("search", () -> { }),
+                index("facets", () -> { throw new IllegalStateException("scan failed"); })),
+                new CatalogProperties(), registry, catalogVersion);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> warmup.onApplicationReady(ready(Duration.ofSeconds(1))));
+        assertEquals("scan failed", e.getMessage());
+    }
+}